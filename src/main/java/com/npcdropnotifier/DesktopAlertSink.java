@@ -0,0 +1,38 @@
+package com.npcdropnotifier;
+
+import net.runelite.client.Notifier;
+
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * Sends a desktop notification through the RuneLite {@link Notifier}, one per batch.
+ */
+public class DesktopAlertSink implements DropAlertSink {
+    private final Notifier notifier;
+    private final BooleanSupplier enabled;
+
+    public DesktopAlertSink(Notifier notifier, BooleanSupplier enabled) {
+        this.notifier = notifier;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public String getName() {
+        return "desktop";
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled.getAsBoolean();
+    }
+
+    @Override
+    public void deliver(List<DropAlert> alerts) {
+        String items = alerts.stream()
+                .map(alert -> alert.getItemName() + " from " + alert.getNpcName())
+                .collect(Collectors.joining(", "));
+        notifier.notify((alerts.size() == 1 ? "New drop: " : "New drops: ") + items);
+    }
+}
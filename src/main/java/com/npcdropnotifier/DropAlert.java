@@ -0,0 +1,20 @@
+package com.npcdropnotifier;
+
+import lombok.Value;
+
+/**
+ * Immutable description of a new drop, handed to every {@link DropAlertSink}.
+ */
+@Value
+public class DropAlert {
+    String npcName;
+    int npcLevel;
+    int itemId;
+    String itemName;
+    int quantity;
+    // Drop table rarity, null if the drop is not in the table
+    String rarity;
+    // Formatted popup message
+    String message;
+    long timestamp;
+}
@@ -0,0 +1,157 @@
+package com.npcdropnotifier;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.inject.Singleton;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fans new drop alerts out to the registered {@link DropAlertSink}s.
+ * <p>
+ * Every sink has its own bounded queue and worker thread, so {@link #publish(DropAlert)} never blocks and a slow
+ * or failing sink only delays itself. Workers batch and retry according to the sink's {@link DropAlertPolicy};
+ * alerts that do not fit in a full queue, or that still fail after the last attempt, are logged and dropped. Failed
+ * deliveries are not retried once the pipeline is shutting down.
+ */
+@Slf4j
+@Singleton
+public class DropAlertPipeline {
+    private final List<SinkWorker> workers = new CopyOnWriteArrayList<>();
+
+    public void addSink(DropAlertSink sink, DropAlertPolicy policy) {
+        SinkWorker worker = new SinkWorker(sink, policy);
+        workers.add(worker);
+        worker.thread.start();
+    }
+
+    public void publish(DropAlert alert) {
+        for (SinkWorker worker : workers) {
+            if (worker.sink.isEnabled() && !worker.queue.offer(alert)) {
+                log.warn("Alert queue of the {} sink is full, dropping alert for {}", worker.sink.getName(), alert.getItemName());
+            }
+        }
+    }
+
+    /**
+     * Delivers the alerts already queued, waiting at most the given time, and removes all sinks.
+     */
+    public void shutDown(long timeoutMillis) throws InterruptedException {
+        for (SinkWorker worker : workers) {
+            worker.running = false;
+        }
+
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        for (SinkWorker worker : workers) {
+            worker.thread.join(Math.max(1, deadline - System.currentTimeMillis()));
+            if (worker.thread.isAlive()) {
+                log.warn("Timed out delivering alerts to the {} sink", worker.sink.getName());
+                worker.thread.interrupt();
+            }
+        }
+        workers.clear();
+    }
+
+    private static final class SinkWorker implements Runnable {
+        private final DropAlertSink sink;
+        private final DropAlertPolicy policy;
+        private final BlockingQueue<DropAlert> queue;
+        private final Thread thread;
+        private volatile boolean running = true;
+
+        private SinkWorker(DropAlertSink sink, DropAlertPolicy policy) {
+            this.sink = sink;
+            this.policy = policy;
+            this.queue = new ArrayBlockingQueue<>(policy.getQueueCapacity());
+            this.thread = new Thread(this, "npc-drop-notifier-" + sink.getName() + "-sink");
+            this.thread.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            final List<DropAlert> batch = new ArrayList<>(policy.getMaxBatchSize());
+            try {
+                while (running || !queue.isEmpty()) {
+                    DropAlert first = queue.poll(100, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+
+                    batch.add(first);
+                    fillBatch(batch);
+                    deliver(batch);
+                    batch.clear();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void fillBatch(List<DropAlert> batch) throws InterruptedException {
+            final int maxBatchSize = policy.getMaxBatchSize();
+            queue.drainTo(batch, maxBatchSize - batch.size());
+
+            // Wait a little for more alerts, unless we are shutting down
+            long deadline = System.currentTimeMillis() + policy.getLingerMillis();
+            while (running && batch.size() < maxBatchSize) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    break;
+                }
+
+                DropAlert next = queue.poll(remaining, TimeUnit.MILLISECONDS);
+                if (next == null) {
+                    break;
+                }
+                batch.add(next);
+                queue.drainTo(batch, maxBatchSize - batch.size());
+            }
+        }
+
+        private void deliver(List<DropAlert> batch) throws InterruptedException {
+            long retryDelay = policy.getRetryDelayMillis();
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    sink.deliver(batch);
+                    return;
+                } catch (InterruptedException e) {
+                    throw e;
+                } catch (Exception e) {
+                    if (attempt >= policy.getMaxAttempts()) {
+                        log.warn("Dropping {} alerts after {} failed attempts to the {} sink", batch.size(), attempt, sink.getName(), e);
+                        return;
+                    }
+
+                    log.debug("Failed to deliver alerts to the {} sink, retrying in {}ms", sink.getName(), retryDelay, e);
+                    if (!awaitRetry(retryDelay)) {
+                        // Shutting down, the sink is failing so the queued alerts would only hold up shut down too
+                        int dropped = batch.size() + queue.size();
+                        queue.clear();
+                        log.warn("Dropping {} alerts to the failing {} sink on shut down", dropped, sink.getName(), e);
+                        return;
+                    }
+                    retryDelay *= 2;
+                }
+            }
+        }
+
+        /**
+         * Waits for the retry delay, returning false as soon as the pipeline is shutting down.
+         */
+        private boolean awaitRetry(long delayMillis) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + delayMillis;
+            while (running) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    return true;
+                }
+                Thread.sleep(Math.min(remaining, 100));
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.npcdropnotifier;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Queueing, batching and retry settings of a single {@link DropAlertSink}.
+ */
+@Value
+@Builder
+public class DropAlertPolicy {
+    // Alerts are dropped once this many are waiting for the sink
+    @Builder.Default
+    int queueCapacity = 64;
+
+    @Builder.Default
+    int maxBatchSize = 1;
+
+    // How long to wait for more alerts to fill a batch after the first one arrived
+    @Builder.Default
+    long lingerMillis = 0;
+
+    @Builder.Default
+    int maxAttempts = 1;
+
+    // Doubled after every failed attempt
+    @Builder.Default
+    long retryDelayMillis = 1000;
+}
@@ -0,0 +1,24 @@
+package com.npcdropnotifier;
+
+import java.util.List;
+
+/**
+ * Destination for new drop alerts. Sinks are called from their own worker thread by the
+ * {@link DropAlertPipeline}, never from the client thread or the ingestion loop.
+ */
+public interface DropAlertSink {
+    String getName();
+
+    /**
+     * Checked when an alert is published; disabled sinks never see it.
+     */
+    default boolean isEnabled() {
+        return true;
+    }
+
+    /**
+     * Delivers a batch of alerts. Throwing makes the pipeline retry the whole batch according to the sink's
+     * {@link DropAlertPolicy}.
+     */
+    void deliver(List<DropAlert> alerts) throws Exception;
+}
@@ -0,0 +1,98 @@
+package com.npcdropnotifier;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Single consumer command loop.
+ * <p>
+ * Any thread may {@link #submit(Runnable)} commands to the lock-free queue; they are executed one at a time and
+ * in submission order on the loop thread, which is therefore the only writer of the state those commands touch.
+ */
+@Slf4j
+public class DropIngestionLoop {
+    private final String threadName;
+    private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+
+    private volatile Thread thread;
+    private volatile boolean running;
+
+    public DropIngestionLoop(String threadName) {
+        this.threadName = threadName;
+    }
+
+    /**
+     * Starts the loop thread. Commands submitted after the previous run stopped are dropped.
+     *
+     * @throws IllegalStateException if the thread of a previous run timed out stopping and is still running commands
+     */
+    public synchronized void start() {
+        Thread loopThread = thread;
+        if (loopThread != null && loopThread.isAlive()) {
+            if (running) {
+                return;
+            }
+            // A second consumer would break the single writer guarantee
+            throw new IllegalStateException(threadName + " is still stopping");
+        }
+
+        queue.clear();
+        running = true;
+        thread = new Thread(this::run, threadName);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public void submit(Runnable command) {
+        queue.offer(command);
+        LockSupport.unpark(thread);
+    }
+
+    /**
+     * Runs the commands already submitted and then stops the loop thread, waiting at most the given time.
+     */
+    public synchronized void stop(long timeoutMillis) throws InterruptedException {
+        Thread loopThread = thread;
+        if (loopThread == null) {
+            return;
+        }
+
+        running = false;
+        LockSupport.unpark(loopThread);
+        loopThread.join(timeoutMillis);
+        if (loopThread.isAlive()) {
+            // Keep the thread so start() does not run a second consumer next to it
+            log.warn("Timed out waiting for {} to stop", threadName);
+            return;
+        }
+        thread = null;
+    }
+
+    /**
+     * Runs every queued command on the calling thread. Only the loop thread, or a test driving a loop that was
+     * never started, may call this.
+     */
+    void drain() {
+        Runnable command;
+        while ((command = queue.poll()) != null) {
+            try {
+                command.run();
+            } catch (RuntimeException e) {
+                log.warn("Drop ingestion command failed", e);
+            }
+        }
+    }
+
+    private void run() {
+        while (running) {
+            drain();
+            if (queue.isEmpty() && running) {
+                LockSupport.park(this);
+            }
+        }
+        drain();
+    }
+}
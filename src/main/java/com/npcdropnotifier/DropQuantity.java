@@ -0,0 +1,95 @@
+package com.npcdropnotifier;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Immutable, shared quantity descriptor of a drop table row, e.g. "1", "5-10" or "1; 3".
+ * <p>
+ * One instance exists per distinct wiki quantity, see {@link #of(String)}.
+ */
+public final class DropQuantity {
+    private static final ConcurrentMap<String, DropQuantity> QUANTITIES = new ConcurrentHashMap<>();
+
+    private final String text;
+    private final int min;
+    private final int max;
+    private final boolean range;
+    // min and max of each listed amount or range, "1–7; 10" is {1, 7, 10, 10}
+    private final int[] bounds;
+
+    private DropQuantity(String text, int[] bounds) {
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        for (int i = 0; i < bounds.length; i += 2) {
+            min = Math.min(min, bounds[i]);
+            max = Math.max(max, bounds[i + 1]);
+        }
+
+        this.text = text;
+        this.min = bounds.length > 0 ? min : 0;
+        this.max = bounds.length > 0 ? max : -1;
+        this.range = bounds.length > 0 && min != max;
+        this.bounds = bounds;
+    }
+
+    /**
+     * Returns the shared descriptor for a wiki quantity. Quantities that can not be parsed, such as "Unknown",
+     * match no dropped quantity.
+     */
+    public static DropQuantity of(String quantity) {
+        String key = quantity == null ? "" : quantity;
+        DropQuantity existing = QUANTITIES.get(key);
+        return existing != null ? existing : QUANTITIES.computeIfAbsent(key, DropQuantity::parse);
+    }
+
+    private static DropQuantity parse(String quantity) {
+        String text = quantity.replace("–", "-");
+        String[] parts = text.split(";");
+        int[] bounds = new int[parts.length * 2];
+        try {
+            // "1–7; 10" lists several possible amounts, each is matched on its own
+            for (int i = 0; i < parts.length; i++) {
+                String[] range = parts[i].split("-");
+                bounds[i * 2] = Integer.parseInt(range[0].trim());
+                bounds[i * 2 + 1] = Integer.parseInt(range[range.length - 1].trim());
+            }
+        } catch (NumberFormatException e) {
+            return new DropQuantity(text, new int[0]);
+        }
+        return new DropQuantity(text, bounds);
+    }
+
+    /**
+     * The quantity as recorded in drop logs, with ranges written using a plain dash.
+     */
+    public String getText() {
+        return text;
+    }
+
+    public int getMin() {
+        return min;
+    }
+
+    public int getMax() {
+        return max;
+    }
+
+    public boolean isRange() {
+        return range;
+    }
+
+    public boolean contains(int quantity) {
+        for (int i = 0; i < bounds.length; i += 2) {
+            if (quantity >= bounds[i] && quantity <= bounds[i + 1]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+}
@@ -0,0 +1,81 @@
+package com.npcdropnotifier;
+
+import org.apache.commons.math3.fraction.Fraction;
+import org.apache.commons.math3.fraction.FractionConversionException;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Immutable, shared rarity descriptor of a drop table row, e.g. "Always", "4/128" or "2 × 1/18".
+ * <p>
+ * One instance exists per distinct wiki rarity, see {@link #of(String)}.
+ */
+public final class DropRarity {
+    private static final ConcurrentMap<String, DropRarity> RARITIES = new ConcurrentHashMap<>();
+
+    private final String text;
+    private final String color;
+    private final int simplifiedDenominator;
+
+    private DropRarity(String text, String color, int simplifiedDenominator) {
+        this.text = text;
+        this.color = color;
+        this.simplifiedDenominator = simplifiedDenominator;
+    }
+
+    public static DropRarity of(String rarity) {
+        String key = rarity == null ? "" : rarity;
+        DropRarity existing = RARITIES.get(key);
+        return existing != null ? existing : RARITIES.computeIfAbsent(key, DropRarity::parse);
+    }
+
+    private static DropRarity parse(String rarity) {
+        String color = DropRateColorConstants.getDropRateColor(rarity);
+        if (!rarity.contains("/")) {
+            return new DropRarity(rarity, color, 0);
+        }
+
+        String text = rarity;
+        String dropFraction = rarity;
+        if (rarity.contains("×")) {
+            dropFraction = rarity.split("×")[1].trim();
+            text = rarity.replace("×", "x");
+        }
+
+        String[] parts = dropFraction.replace("~", "").split("/");
+        try {
+            double numerator = Double.parseDouble(parts[0].trim());
+            double denominator = Double.parseDouble(parts[1].trim());
+            double rarityDouble = numerator / denominator;
+
+            Fraction rarityFraction = new Fraction(rarityDouble, 1.0e-10, 10000);
+            return new DropRarity(text, color, rarityFraction.getDenominator() / rarityFraction.getNumerator());
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException | ArithmeticException | FractionConversionException e) {
+            return new DropRarity(text, color, 0);
+        }
+    }
+
+    /**
+     * The wiki rarity, with the multi-roll "×" written as "x".
+     */
+    public String getText() {
+        return text;
+    }
+
+    public String getColor() {
+        return color;
+    }
+
+    /**
+     * The rarity as "1 / n", or 0 if it is not a fraction.
+     */
+    public int getSimplifiedDenominator() {
+        return simplifiedDenominator;
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+}
@@ -6,4 +6,46 @@ public final class DropRateColorConstants {
     public static final String UNCOMMON = "FFED4C";
     public static final String RARE = "FF6262";
     public static final String SUPERRARE = "FF6262";
+
+    private DropRateColorConstants() {
+    }
+
+    /**
+     * Maps a wiki rarity such as "Always", "1/128", "2 × 1/18" or "~1/24.4" to its color. Rarities that are not
+     * a fraction, e.g. "Varies" or "Unknown", use the {@link #ALWAYS} color.
+     */
+    public static String getDropRateColor(String rarity) {
+        if (rarity == null) {
+            return ALWAYS;
+        }
+
+        String fraction = rarity;
+        int multiplier = Math.max(fraction.indexOf('×'), fraction.indexOf('x'));
+        if (multiplier >= 0) {
+            fraction = fraction.substring(multiplier + 1);
+        }
+        fraction = fraction.replace("~", "");
+
+        String[] parts = fraction.split("/");
+        if (parts.length != 2) {
+            return ALWAYS;
+        }
+
+        double rarityDouble;
+        try {
+            rarityDouble = Double.parseDouble(parts[0].trim()) / Double.parseDouble(parts[1].trim());
+        } catch (NumberFormatException e) {
+            return ALWAYS;
+        }
+
+        if (rarityDouble >= 0.04) {
+            return COMMON;
+        } else if (rarityDouble >= 0.01) {
+            return UNCOMMON;
+        } else if (rarityDouble >= 0.001) {
+            return RARE;
+        } else {
+            return SUPERRARE;
+        }
+    }
 }
@@ -0,0 +1,85 @@
+package com.npcdropnotifier;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Immutable drop table row.
+ * <p>
+ * Rows are flyweights: names are interned and the {@link DropQuantity} and {@link DropRarity} descriptors are
+ * shared, and identical rows across tables (e.g. "Bones", "Always") are the same instance. Memory therefore grows
+ * with the number of distinct rows in the corpus rather than with the number of loaded tables.
+ */
+public final class DropRow {
+    // Item names, and the raw quantity and rarity text of lazily decoded tables
+    private static final ConcurrentMap<String, String> STRINGS = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<DropRow, DropRow> ROWS = new ConcurrentHashMap<>();
+
+    private final int itemId;
+    private final String name;
+    private final DropQuantity quantity;
+    private final DropRarity rarity;
+
+    private DropRow(int itemId, String name, DropQuantity quantity, DropRarity rarity) {
+        this.itemId = itemId;
+        this.name = name;
+        this.quantity = quantity;
+        this.rarity = rarity;
+    }
+
+    public static DropRow of(int itemId, String name, String quantity, String rarity) {
+        DropRow row = new DropRow(itemId, intern(name), DropQuantity.of(quantity), DropRarity.of(rarity));
+        DropRow existing = ROWS.putIfAbsent(row, row);
+        return existing != null ? existing : row;
+    }
+
+    static String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+
+        String existing = STRINGS.putIfAbsent(value, value);
+        return existing != null ? existing : value;
+    }
+
+    public int getItemId() {
+        return itemId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public DropQuantity getQuantity() {
+        return quantity;
+    }
+
+    public DropRarity getRarity() {
+        return rarity;
+    }
+
+    // Name and descriptors are canonical instances, so reference comparison is enough
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof DropRow)) {
+            return false;
+        }
+
+        DropRow other = (DropRow) o;
+        return itemId == other.itemId && name == other.name && quantity == other.quantity && rarity == other.rarity;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(itemId, name, quantity, rarity);
+    }
+
+    @Override
+    public String toString() {
+        return name + " (" + quantity + ") " + rarity;
+    }
+}
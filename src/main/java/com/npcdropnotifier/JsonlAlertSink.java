@@ -0,0 +1,47 @@
+package com.npcdropnotifier;
+
+import com.google.gson.Gson;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Appends every alert as a json line to a local event file.
+ */
+public class JsonlAlertSink implements DropAlertSink {
+    private final Gson gson = new Gson();
+    private final File eventFile;
+    private final BooleanSupplier enabled;
+
+    public JsonlAlertSink(File eventFile, BooleanSupplier enabled) {
+        this.eventFile = eventFile;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public String getName() {
+        return "event-log";
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled.getAsBoolean();
+    }
+
+    @Override
+    public void deliver(List<DropAlert> alerts) throws IOException {
+        File dir = eventFile.getParentFile();
+        if (dir != null && !dir.exists() && !dir.mkdirs()) {
+            throw new IOException("Could not create " + dir);
+        }
+
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(eventFile, true), StandardCharsets.UTF_8))) {
+            for (DropAlert alert : alerts) {
+                writer.write(gson.toJson(alert));
+                writer.write('\n');
+            }
+        }
+    }
+}
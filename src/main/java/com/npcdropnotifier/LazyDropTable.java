@@ -0,0 +1,270 @@
+package com.npcdropnotifier;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.*;
+
+/**
+ * Drop table that only decodes the rows that are asked for.
+ * <p>
+ * Loading keeps the raw strings of every row, interned so tables share them, and builds an item id to row offset
+ * index, nothing else. A row's {@link DropQuantity} and {@link DropRarity} are parsed the first time the row is
+ * accessed, so a loot event pays for the few items it contains instead of the whole table. Decoding may race between
+ * threads, which is harmless since {@link DropRow#of} always returns the same shared instance.
+ */
+public final class LazyDropTable {
+    private static final String NOTHING = "Nothing";
+    private static final int[] NO_ROWS = new int[0];
+
+    public static final LazyDropTable EMPTY = builder(null).build();
+
+    private final Integer id;
+    private final String name;
+    private final int[] itemIds;
+    private final String[] names;
+    private final String[] quantities;
+    private final String[] rarities;
+    // itemId -> offsets of its rows, in table order
+    private final Map<Integer, int[]> rowOffsets;
+    // Allocated on the first decode, most tables held by the completion index are never decoded
+    private DropRow[] decoded;
+
+    private LazyDropTable(Integer id, String name, int[] itemIds, String[] names, String[] quantities, String[] rarities) {
+        this.id = id;
+        this.name = name;
+        this.itemIds = itemIds;
+        this.names = names;
+        this.quantities = quantities;
+        this.rarities = rarities;
+
+        final Map<Integer, int[]> offsets = new HashMap<>();
+        for (int i = 0; i < itemIds.length; i++) {
+            int[] existing = offsets.getOrDefault(itemIds[i], NO_ROWS);
+            int[] grown = Arrays.copyOf(existing, existing.length + 1);
+            grown[existing.length] = i;
+            offsets.put(itemIds[i], grown);
+        }
+        this.rowOffsets = offsets;
+    }
+
+    public static Builder builder(String name) {
+        return new Builder(name);
+    }
+
+    /**
+     * Streams a monster_data table, reading the table id and name and the item id, name, quantity and rarity of each
+     * drop and skipping everything else. "Nothing" rows are left out.
+     */
+    public static LazyDropTable read(Reader in) throws IOException {
+        try (JsonReader reader = new JsonReader(in)) {
+            Integer tableId = null;
+            String tableName = null;
+            Builder builder = null;
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "id":
+                        tableId = reader.nextInt();
+                        break;
+                    case "name":
+                        tableName = nextString(reader);
+                        break;
+                    case "drops":
+                        builder = readDrops(reader);
+                        break;
+                    default:
+                        reader.skipValue();
+                }
+            }
+            reader.endObject();
+
+            if (builder == null) {
+                builder = new Builder(null);
+            }
+            builder.id = tableId;
+            builder.name = tableName;
+            return builder.build();
+        } catch (IllegalStateException | NumberFormatException e) {
+            throw new IOException("Malformed drop table", e);
+        }
+    }
+
+    private static Builder readDrops(JsonReader reader) throws IOException {
+        final Builder builder = new Builder(null);
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return builder;
+        }
+
+        reader.beginArray();
+        while (reader.hasNext()) {
+            int itemId = 0;
+            String name = null;
+            String quantity = null;
+            String rarity = null;
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "itemId":
+                        itemId = reader.nextInt();
+                        break;
+                    case "name":
+                        name = nextString(reader);
+                        break;
+                    case "quantity":
+                        quantity = nextString(reader);
+                        break;
+                    case "rarity":
+                        rarity = nextString(reader);
+                        break;
+                    default:
+                        reader.skipValue();
+                }
+            }
+            reader.endObject();
+
+            if (!NOTHING.equals(name)) {
+                builder.add(itemId, name, quantity, rarity);
+            }
+        }
+        reader.endArray();
+        return builder;
+    }
+
+    private static String nextString(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+        return reader.nextString();
+    }
+
+    /**
+     * The table's own id field, which may differ from the id in its file name, or null if it has none.
+     */
+    public Integer getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int size() {
+        return itemIds.length;
+    }
+
+    public boolean isEmpty() {
+        return itemIds.length == 0;
+    }
+
+    public boolean containsItem(int itemId) {
+        return rowOffsets.containsKey(itemId);
+    }
+
+    /**
+     * Returns the offsets of an item's rows in table order, without decoding them. The array is shared and must not be
+     * modified.
+     */
+    int[] getRowOffsets(int itemId) {
+        return rowOffsets.getOrDefault(itemId, NO_ROWS);
+    }
+
+    public DropRow getRow(int offset) {
+        DropRow[] rows = decoded;
+        if (rows == null) {
+            rows = new DropRow[itemIds.length];
+            decoded = rows;
+        }
+
+        DropRow row = rows[offset];
+        if (row == null) {
+            row = DropRow.of(itemIds[offset], names[offset], quantities[offset], rarities[offset]);
+            rows[offset] = row;
+        }
+        return row;
+    }
+
+    /**
+     * Returns the rows of an item, decoding only those.
+     */
+    public List<DropRow> getRows(int itemId) {
+        final int[] offsets = getRowOffsets(itemId);
+        if (offsets.length == 0) {
+            return Collections.emptyList();
+        }
+
+        final DropRow[] rows = new DropRow[offsets.length];
+        for (int i = 0; i < offsets.length; i++) {
+            rows[i] = getRow(offsets[i]);
+        }
+        return Collections.unmodifiableList(Arrays.asList(rows));
+    }
+
+    /**
+     * Returns the first row of the item whose quantity range contains the given quantity, or null.
+     */
+    public DropRow findDrop(int itemId, int quantity) {
+        for (int offset : getRowOffsets(itemId)) {
+            DropRow row = getRow(offset);
+            if (row.getQuantity().contains(quantity)) {
+                return row;
+            }
+        }
+        return null;
+    }
+
+    int decodedRows() {
+        DropRow[] rows = decoded;
+        if (rows == null) {
+            return 0;
+        }
+
+        int count = 0;
+        for (DropRow row : rows) {
+            if (row != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public static final class Builder {
+        private Integer id;
+        private String name;
+        private int size;
+        private int[] itemIds = new int[16];
+        private String[] names = new String[16];
+        private String[] quantities = new String[16];
+        private String[] rarities = new String[16];
+
+        private Builder(String name) {
+            this.name = name;
+        }
+
+        public Builder add(int itemId, String name, String quantity, String rarity) {
+            if (size == itemIds.length) {
+                int capacity = size * 2;
+                itemIds = Arrays.copyOf(itemIds, capacity);
+                names = Arrays.copyOf(names, capacity);
+                quantities = Arrays.copyOf(quantities, capacity);
+                rarities = Arrays.copyOf(rarities, capacity);
+            }
+
+            itemIds[size] = itemId;
+            names[size] = DropRow.intern(name);
+            quantities[size] = DropRow.intern(quantity);
+            rarities[size] = DropRow.intern(rarity);
+            size++;
+            return this;
+        }
+
+        public LazyDropTable build() {
+            return new LazyDropTable(id, DropRow.intern(name), Arrays.copyOf(itemIds, size), Arrays.copyOf(names, size),
+                    Arrays.copyOf(quantities, size), Arrays.copyOf(rarities, size));
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.npcdropnotifier;
+
+import lombok.Value;
+
+/**
+ * Immutable view of a single drop table row and whether it has been received.
+ */
+@Value
+public class NpcCompletionRow {
+    int itemId;
+    String itemName;
+    String quantity;
+    String rarity;
+    String color;
+    boolean seen;
+}
@@ -0,0 +1,14 @@
+package com.npcdropnotifier;
+
+import lombok.Value;
+
+/**
+ * Immutable drop table completion for a single monster_data table.
+ */
+@Value
+public class NpcCompletionSummary {
+    int tableId;
+    String npcName;
+    int seenRows;
+    int totalRows;
+}
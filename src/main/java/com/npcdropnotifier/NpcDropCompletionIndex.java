@@ -0,0 +1,307 @@
+package com.npcdropnotifier;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Per table drop completion, kept up to date incrementally.
+ * <p>
+ * Every monster_data table is read once into a compact row summary. Recorded drops are merged in once per
+ * account and after that each new drop only touches the table its npc resolves to through the
+ * {@link NpcDropTableIndex}. All state is confined to a single index thread; callers receive immutable
+ * {@link NpcCompletionSummary} and {@link NpcCompletionRow} copies.
+ */
+@Slf4j
+@Singleton
+public class NpcDropCompletionIndex {
+    public interface Listener {
+        /**
+         * Called after tables or account records were (re)loaded and all summaries may have changed.
+         */
+        void summariesReloaded();
+
+        /**
+         * Called when a new drop changed the completion of a single table.
+         */
+        void summaryUpdated(NpcCompletionSummary summary);
+    }
+
+    private final NpcDropTableIndex tableIndex;
+
+    // Created on start up, the index is a singleton that outlives the plugin
+    private volatile ExecutorService executor;
+
+    private volatile Listener listener;
+
+    // Confined to the index thread
+    private final List<TableState> tables = new ArrayList<>();
+    private final Map<Integer, TableState> tablesById = new HashMap<>();
+    // table id -> itemId -> recorded quantities
+    private final Map<Integer, Map<Integer, Set<String>>> seenByTable = new HashMap<>();
+
+    @Inject
+    public NpcDropCompletionIndex(NpcDropTableIndex tableIndex) {
+        this.tableIndex = tableIndex;
+    }
+
+    public void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    public synchronized void startUp() {
+        if (executor == null) {
+            executor = Executors.newSingleThreadExecutor(r -> {
+                Thread thread = new Thread(r, "npc-drop-notifier-index");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * Reads every table in the monster data directory once, building the {@link NpcDropTableIndex} in the same scan.
+     */
+    public CompletableFuture<Void> loadTables() {
+        return runOnIndexThread(() -> {
+            tables.clear();
+            tablesById.clear();
+
+            tableIndex.scan((id, dropTable) -> {
+                if (dropTable.getName() == null) {
+                    return;
+                }
+
+                TableState table = new TableState(id, dropTable);
+                tables.add(table);
+                tablesById.put(table.id, table);
+                applySeen(table, seenByTable.get(table.id));
+            });
+            tables.sort(Comparator.comparing((TableState t) -> t.name).thenComparingInt(t -> t.id));
+
+            notifyReloaded();
+        });
+    }
+
+    /**
+     * Replaces the recorded drops with those of the active account in the session store.
+     */
+    public CompletableFuture<Void> loadAccount(NpcDropSessionStore sessionStore) {
+        return runOnIndexThread(() -> {
+            seenByTable.clear();
+            for (TableState table : tables) {
+                table.seen.clear();
+            }
+
+            sessionStore.readAllRecords().forEach((npcKey, record) -> {
+                // Resolved like the live drops were, records saved before npc ids were kept only have a name
+                Integer npcId = record.getNpcId();
+                Integer tableId = tableIndex.resolve(npcId != null ? npcId : -1, npcName(npcKey), npcLevel(npcKey));
+                if (tableId == null) {
+                    return;
+                }
+
+                Map<Integer, Set<String>> seen = seenByTable.computeIfAbsent(tableId, k -> new HashMap<>());
+                record.copyItemDrops().forEach((itemId, quantities) -> seen.computeIfAbsent(itemId, k -> new HashSet<>()).addAll(quantities));
+            });
+
+            seenByTable.forEach((tableId, seen) -> {
+                TableState table = tablesById.get(tableId);
+                if (table != null) {
+                    applySeen(table, seen);
+                }
+            });
+
+            notifyReloaded();
+        });
+    }
+
+    /**
+     * Marks a single drop as received and notifies the listener if it completed a row of the npc's table.
+     */
+    public void recordDrop(int npcId, String npcName, int npcLevel, int itemId, String quantity) {
+        runOnIndexThread(() -> {
+            Integer tableId = tableIndex.resolve(npcId, npcName, npcLevel);
+            if (tableId == null) {
+                return;
+            }
+
+            seenByTable.computeIfAbsent(tableId, k -> new HashMap<>())
+                    .computeIfAbsent(itemId, k -> new HashSet<>())
+                    .add(quantity);
+
+            TableState table = tablesById.get(tableId);
+            if (table != null && table.markSeen(itemId, quantity)) {
+                Listener currentListener = listener;
+                if (currentListener != null) {
+                    currentListener.summaryUpdated(table.summary());
+                }
+            }
+        });
+    }
+
+    /**
+     * Returns the summaries of all tables whose npc name contains the query, ignoring case.
+     */
+    public CompletableFuture<List<NpcCompletionSummary>> filter(String query) {
+        final String lowerQuery = query == null ? "" : query.trim().toLowerCase(Locale.ROOT);
+        return supplyOnIndexThread(() -> {
+            List<NpcCompletionSummary> summaries = new ArrayList<>();
+            for (TableState table : tables) {
+                if (lowerQuery.isEmpty() || table.lowerName.contains(lowerQuery)) {
+                    summaries.add(table.summary());
+                }
+            }
+            return summaries;
+        });
+    }
+
+    public CompletableFuture<List<NpcCompletionRow>> getRows(int tableId) {
+        return supplyOnIndexThread(() -> {
+            TableState table = tablesById.get(tableId);
+            if (table == null) {
+                return Collections.emptyList();
+            }
+            return table.rows();
+        });
+    }
+
+    /**
+     * Stops the index thread and drops all tables, {@link #startUp()} has to be called again before the next use.
+     */
+    public void shutDown() {
+        final ExecutorService current;
+        synchronized (this) {
+            current = executor;
+            executor = null;
+        }
+        if (current == null) {
+            return;
+        }
+
+        // Wait for the last task so the next index thread never races with it
+        current.shutdownNow();
+        try {
+            if (!current.awaitTermination(5, TimeUnit.SECONDS)) {
+                log.warn("Timed out waiting for the completion index to stop");
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+
+        tables.clear();
+        tablesById.clear();
+        seenByTable.clear();
+    }
+
+    static String npcName(String npcKey) {
+        int levelIndex = npcKey.lastIndexOf("#Level");
+        return levelIndex >= 0 ? npcKey.substring(0, levelIndex) : npcKey;
+    }
+
+    static int npcLevel(String npcKey) {
+        int levelIndex = npcKey.lastIndexOf("#Level");
+        if (levelIndex < 0) {
+            return 0;
+        }
+
+        try {
+            return Integer.parseInt(npcKey.substring(levelIndex + "#Level".length()));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private CompletableFuture<Void> runOnIndexThread(Runnable task) {
+        return supplyOnIndexThread(() -> {
+            task.run();
+            return null;
+        });
+    }
+
+    private <T> CompletableFuture<T> supplyOnIndexThread(Supplier<T> task) {
+        final ExecutorService current = executor;
+        if (current != null) {
+            try {
+                return CompletableFuture.supplyAsync(task, current);
+            } catch (RejectedExecutionException e) {
+                // Shut down concurrently
+            }
+        }
+
+        CompletableFuture<T> stopped = new CompletableFuture<>();
+        stopped.completeExceptionally(new IllegalStateException("The completion index is not running"));
+        return stopped;
+    }
+
+    private void notifyReloaded() {
+        Listener currentListener = listener;
+        if (currentListener != null) {
+            currentListener.summariesReloaded();
+        }
+    }
+
+    private static void applySeen(TableState table, Map<Integer, Set<String>> seen) {
+        if (seen == null) {
+            return;
+        }
+
+        seen.forEach((itemId, quantities) -> {
+            for (String quantity : quantities) {
+                table.markSeen(itemId, quantity);
+            }
+        });
+    }
+
+    private static final class TableState {
+        private final int id;
+        private final String name;
+        private final String lowerName;
+        // Rows are only decoded when an item is dropped or the table is opened in the panel
+        private final LazyDropTable rows;
+        private final BitSet seen;
+
+        private TableState(int id, LazyDropTable rows) {
+            this.id = id;
+            this.name = rows.getName();
+            this.lowerName = name.toLowerCase(Locale.ROOT);
+            this.rows = rows;
+            this.seen = new BitSet(rows.size());
+        }
+
+        private boolean markSeen(int itemId, String quantity) {
+            boolean changed = false;
+            for (int offset : rows.getRowOffsets(itemId)) {
+                if (!seen.get(offset) && rows.getRow(offset).getQuantity().getText().equals(quantity)) {
+                    seen.set(offset);
+                    changed = true;
+                }
+            }
+            return changed;
+        }
+
+        private NpcCompletionSummary summary() {
+            return new NpcCompletionSummary(id, name, seen.cardinality(), rows.size());
+        }
+
+        private List<NpcCompletionRow> rows() {
+            List<NpcCompletionRow> completionRows = new ArrayList<>(rows.size());
+            for (int i = 0; i < rows.size(); i++) {
+                DropRow row = rows.getRow(i);
+                completionRows.add(new NpcCompletionRow(row.getItemId(), row.getName(), row.getQuantity().getText(),
+                        row.getRarity().getText(), row.getRarity().getColor(), seen.get(i)));
+            }
+            return completionRows;
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.npcdropnotifier;
+
+import net.runelite.client.ui.ColorScheme;
+import net.runelite.client.ui.FontManager;
+import net.runelite.client.ui.PluginPanel;
+import net.runelite.client.ui.components.IconTextField;
+
+import javax.inject.Inject;
+import javax.swing.*;
+import javax.swing.border.EmptyBorder;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import java.awt.*;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sidebar panel listing drop table completion for every npc.
+ * <p>
+ * Both lists only render the visible cells, and all loading and filtering is done by the
+ * {@link NpcDropCompletionIndex} off the EDT. New drops replace a single list element.
+ */
+public class NpcDropCompletionPanel extends PluginPanel implements NpcDropCompletionIndex.Listener {
+    private static final int CELL_HEIGHT = 20;
+    private static final Color SEEN_COLOR = ColorScheme.PROGRESS_COMPLETE_COLOR;
+    private static final Color UNSEEN_COLOR = ColorScheme.MEDIUM_GRAY_COLOR;
+
+    private final NpcDropCompletionIndex completionIndex;
+
+    private final IconTextField searchBar = new IconTextField();
+    private final JList<NpcCompletionSummary> summaryList = new JList<>();
+    private final JList<NpcCompletionRow> rowList = new JList<>();
+
+    // EDT only
+    private DefaultListModel<NpcCompletionSummary> summaryModel = new DefaultListModel<>();
+    // tableId -> position in summaryModel
+    private final Map<Integer, Integer> summaryPositions = new HashMap<>();
+    private int filterGeneration;
+    private int rowsGeneration;
+
+    @Inject
+    public NpcDropCompletionPanel(NpcDropCompletionIndex completionIndex) {
+        super(false);
+        this.completionIndex = completionIndex;
+
+        setLayout(new BorderLayout(0, 5));
+        setBorder(new EmptyBorder(10, 10, 10, 10));
+        setBackground(ColorScheme.DARK_GRAY_COLOR);
+
+        searchBar.setIcon(IconTextField.Icon.SEARCH);
+        searchBar.setPreferredSize(new Dimension(PluginPanel.PANEL_WIDTH - 20, 30));
+        searchBar.setBackground(ColorScheme.DARKER_GRAY_COLOR);
+        searchBar.setHoverBackgroundColor(ColorScheme.DARK_GRAY_HOVER_COLOR);
+        searchBar.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                refreshSummaries();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                refreshSummaries();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                refreshSummaries();
+            }
+        });
+
+        summaryList.setModel(summaryModel);
+        summaryList.setFixedCellHeight(CELL_HEIGHT);
+        summaryList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        summaryList.setBackground(ColorScheme.DARKER_GRAY_COLOR);
+        summaryList.setCellRenderer(new SummaryRenderer());
+        summaryList.addListSelectionListener(e -> {
+            if (!e.getValueIsAdjusting()) {
+                refreshRows();
+            }
+        });
+
+        rowList.setFixedCellHeight(CELL_HEIGHT);
+        rowList.setBackground(ColorScheme.DARKER_GRAY_COLOR);
+        rowList.setCellRenderer(new RowRenderer());
+
+        JScrollPane summaryScrollPane = new JScrollPane(summaryList);
+        JScrollPane rowScrollPane = new JScrollPane(rowList);
+        JSplitPane splitPane = new JSplitPane(JSplitPane.VERTICAL_SPLIT, summaryScrollPane, rowScrollPane);
+        splitPane.setResizeWeight(0.6);
+        splitPane.setBorder(null);
+
+        add(searchBar, BorderLayout.NORTH);
+        add(splitPane, BorderLayout.CENTER);
+
+        completionIndex.setListener(this);
+    }
+
+    @Override
+    public void summariesReloaded() {
+        SwingUtilities.invokeLater(this::refreshSummaries);
+    }
+
+    @Override
+    public void summaryUpdated(NpcCompletionSummary summary) {
+        SwingUtilities.invokeLater(() -> {
+            Integer position = summaryPositions.get(summary.getTableId());
+            if (position == null) {
+                return;
+            }
+
+            summaryModel.set(position, summary);
+            NpcCompletionSummary selected = summaryList.getSelectedValue();
+            if (selected != null && selected.getTableId() == summary.getTableId()) {
+                refreshRows();
+            }
+        });
+    }
+
+    private void refreshSummaries() {
+        final int generation = ++filterGeneration;
+        completionIndex.filter(searchBar.getText()).thenAccept(summaries -> SwingUtilities.invokeLater(() -> {
+            if (generation == filterGeneration) {
+                setSummaries(summaries);
+            }
+        }));
+    }
+
+    private void setSummaries(List<NpcCompletionSummary> summaries) {
+        NpcCompletionSummary selected = summaryList.getSelectedValue();
+
+        summaryPositions.clear();
+        for (int i = 0; i < summaries.size(); i++) {
+            summaryPositions.put(summaries.get(i).getTableId(), i);
+        }
+
+        DefaultListModel<NpcCompletionSummary> model = new DefaultListModel<>();
+        model.ensureCapacity(summaries.size());
+        summaries.forEach(model::addElement);
+
+        // Swap the whole model rather than adding elements to the displayed one, which would fire an event per element
+        summaryModel = model;
+        summaryList.setModel(model);
+
+        if (selected != null) {
+            Integer position = summaryPositions.get(selected.getTableId());
+            if (position != null) {
+                summaryList.setSelectedIndex(position);
+                summaryList.ensureIndexIsVisible(position);
+                return;
+            }
+        }
+        refreshRows();
+    }
+
+    private void refreshRows() {
+        final int generation = ++rowsGeneration;
+        NpcCompletionSummary selected = summaryList.getSelectedValue();
+        if (selected == null) {
+            rowList.setModel(new DefaultListModel<>());
+            return;
+        }
+
+        completionIndex.getRows(selected.getTableId()).thenAccept(rows -> SwingUtilities.invokeLater(() -> {
+            if (generation != rowsGeneration) {
+                return;
+            }
+
+            DefaultListModel<NpcCompletionRow> model = new DefaultListModel<>();
+            rows.forEach(model::addElement);
+            rowList.setModel(model);
+        }));
+    }
+
+    private static final class SummaryRenderer extends DefaultListCellRenderer {
+        @Override
+        public Component getListCellRendererComponent(JList<?> list, Object value, int index, boolean isSelected, boolean cellHasFocus) {
+            super.getListCellRendererComponent(list, value, index, isSelected, cellHasFocus);
+            NpcCompletionSummary summary = (NpcCompletionSummary) value;
+            setText(summary.getNpcName() + " (" + summary.getSeenRows() + "/" + summary.getTotalRows() + ")");
+            setFont(FontManager.getRunescapeSmallFont());
+            setForeground(summary.getTotalRows() > 0 && summary.getSeenRows() == summary.getTotalRows() ? SEEN_COLOR : Color.WHITE);
+            setBackground(isSelected ? ColorScheme.DARK_GRAY_HOVER_COLOR : ColorScheme.DARKER_GRAY_COLOR);
+            return this;
+        }
+    }
+
+    private static final class RowRenderer extends JPanel implements ListCellRenderer<NpcCompletionRow> {
+        private final JLabel nameLabel = new JLabel();
+        private final JLabel rarityLabel = new JLabel();
+
+        private RowRenderer() {
+            setLayout(new BorderLayout(5, 0));
+            setBorder(new EmptyBorder(0, 4, 0, 4));
+            setBackground(ColorScheme.DARKER_GRAY_COLOR);
+            nameLabel.setFont(FontManager.getRunescapeSmallFont());
+            rarityLabel.setFont(FontManager.getRunescapeSmallFont());
+            add(nameLabel, BorderLayout.CENTER);
+            add(rarityLabel, BorderLayout.EAST);
+        }
+
+        @Override
+        public Component getListCellRendererComponent(JList<? extends NpcCompletionRow> list, NpcCompletionRow row, int index, boolean isSelected, boolean cellHasFocus) {
+            String quantity = "1".equals(row.getQuantity()) ? "" : " (" + row.getQuantity() + ")";
+            nameLabel.setText(row.getItemName() + quantity);
+            nameLabel.setForeground(row.isSeen() ? SEEN_COLOR : UNSEEN_COLOR);
+            rarityLabel.setText(row.getRarity());
+            rarityLabel.setForeground(Color.decode("#" + row.getColor()));
+            return this;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.npcdropnotifier;
+
+import net.runelite.client.config.Config;
+import net.runelite.client.config.ConfigGroup;
+import net.runelite.client.config.ConfigItem;
+
+@ConfigGroup(NpcDropNotifierConfig.GROUP)
+public interface NpcDropNotifierConfig extends Config {
+    String GROUP = "newdropnotifier";
+
+    @ConfigItem(
+            keyName = "showPopup",
+            name = "Popup",
+            description = "Show an in-game popup for new drops",
+            position = 0
+    )
+    default boolean showPopup() {
+        return true;
+    }
+
+    @ConfigItem(
+            keyName = "desktopNotification",
+            name = "Desktop notification",
+            description = "Send a desktop notification for new drops",
+            position = 1
+    )
+    default boolean desktopNotification() {
+        return false;
+    }
+
+    @ConfigItem(
+            keyName = "screenshot",
+            name = "Screenshot",
+            description = "Save a screenshot to .runelite/new-drop-notifier/screenshots for new drops",
+            position = 2
+    )
+    default boolean screenshot() {
+        return false;
+    }
+
+    @ConfigItem(
+            keyName = "eventLog",
+            name = "Event log",
+            description = "Append new drops to .runelite/new-drop-notifier/drop-events.jsonl",
+            position = 3
+    )
+    default boolean eventLog() {
+        return false;
+    }
+
+    @ConfigItem(
+            keyName = "webhookUrl",
+            name = "Webhook URL",
+            description = "POST new drops as a json array to this URL, leave empty to disable",
+            position = 4
+    )
+    default String webhookUrl() {
+        return "";
+    }
+}
@@ -1,15 +1,15 @@
 package com.npcdropnotifier;
 
-import com.google.gson.Gson;
-import com.google.gson.JsonIOException;
-import com.google.gson.reflect.TypeToken;
+import com.google.inject.Provides;
 
 import javax.inject.Inject;
 
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.Client;
+import net.runelite.api.GameState;
 import net.runelite.api.HitsplatID;
 import net.runelite.api.NPC;
+import net.runelite.api.events.GameStateChanged;
 import net.runelite.api.events.HitsplatApplied;
 import net.runelite.client.Notifier;
 import net.runelite.client.RuneLite;
@@ -19,17 +19,24 @@ import net.runelite.client.events.NpcLootReceived;
 import net.runelite.client.game.ItemStack;
 import net.runelite.client.plugins.Plugin;
 import net.runelite.client.plugins.PluginDescriptor;
+import net.runelite.client.ui.ClientToolbar;
+import net.runelite.client.ui.DrawManager;
+import net.runelite.client.ui.NavigationButton;
+import net.runelite.client.util.ImageUtil;
+import okhttp3.OkHttpClient;
 
+import java.awt.image.BufferedImage;
 import java.io.*;
-import java.lang.reflect.Type;
 import java.net.HttpURLConnection;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.StandardCopyOption;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
-
-import static com.npcdropnotifier.DropRateColorConstants.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @PluginDescriptor(
@@ -48,230 +55,385 @@ public class NpcDropNotifierPlugin extends Plugin {
     @Inject
     private NpcDropNotifierPopup npcDropNotifierPopup;
 
+    @Inject
+    private NpcDropSessionStore sessionStore;
+
+    @Inject
+    private NpcDropCompletionIndex completionIndex;
+
+    @Inject
+    private NpcDropTableIndex tableIndex;
+
+    @Inject
+    private DropAlertPipeline alertPipeline;
+
+    @Inject
+    private NpcDropNotifierConfig config;
+
+    @Inject
+    private DrawManager drawManager;
+
+    @Inject
+    private ClientToolbar clientToolbar;
+
+    @Inject
+    private OkHttpClient okHttpClient;
+
+    private NavigationButton navigationButton;
+
     private static final String CONFIG_GROUP = "newdropnotifier";
     private static final String CONFIG_KEY = "monsterDrops";
 
-    private final Gson gson = new Gson();
+    private static final int PREFETCHED_TABLE_LIMIT = 8;
+
+    final DropIngestionLoop ingestionLoop = new DropIngestionLoop("npc-drop-notifier-ingest");
+    ExecutorService prefetchExecutor;
+
+    // Owned by the ingestion loop, never touch these from another thread
+    private String currentNpcKey = "";
+    private NpcDropRecord npcDropRecord = null;
+    private LazyDropTable currentNpcDropData = null;
+    // npcKey -> loot waiting for that npc's drop table, whichever npc is current by the time it loads
+    private final Map<String, DeferredLoot> deferredLoot = new HashMap<>();
+    private final Set<String> pendingPrefetches = new HashSet<>();
+    private final Map<String, LazyDropTable> prefetchedTables = new LinkedHashMap<String, LazyDropTable>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, LazyDropTable> eldest) {
+            return size() > PREFETCHED_TABLE_LIMIT;
+        }
+    };
+
+    @Provides
+    NpcDropNotifierConfig provideConfig(ConfigManager configManager) {
+        return configManager.getConfig(NpcDropNotifierConfig.class);
+    }
 
-    // Map of npcName ->  dropRecord
-    public String currentNpcKey = "";
-    public NpcDropRecord npcDropRecord = null;
-    // itemId -> quantity -> Drop
-    public Map<Integer, List<NpcDropData.Drop>> currentNpcDropData = null;
+    @Override
+    protected void startUp() throws Exception {
+        prefetchExecutor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "npc-drop-notifier-prefetch");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ingestionLoop.start();
+        completionIndex.startUp();
+        completionIndex.loadTables();
+        startAlertSinks();
+
+        final NpcDropCompletionPanel panel = injector.getInstance(NpcDropCompletionPanel.class);
+        final BufferedImage icon = ImageUtil.loadImageResource(getClass(), "panel_icon.png");
+        navigationButton = NavigationButton.builder()
+                .tooltip("NPC Drop Completion")
+                .icon(icon)
+                .priority(10)
+                .panel(panel)
+                .build();
+        clientToolbar.addNavigation(navigationButton);
+
+        if (client.getGameState() == GameState.LOGGED_IN) {
+            final long accountHash = client.getAccountHash();
+            ingestionLoop.submit(() -> switchAccount(accountHash));
+        }
+    }
 
     @Override
     protected void shutDown() throws Exception {
-        saveNpcDropsToFile(currentNpcKey, npcDropRecord);
+        clientToolbar.removeNavigation(navigationButton);
+        navigationButton = null;
+
+        // Let queued table reads finish so their loot is handled before the account is closed
+        prefetchExecutor.shutdown();
+        if (!prefetchExecutor.awaitTermination(5, TimeUnit.SECONDS)) {
+            log.warn("Timed out waiting for npc drop tables to load");
+            prefetchExecutor.shutdownNow();
+        }
+        ingestionLoop.submit(this::closeAccount);
+        ingestionLoop.stop(5000);
+        alertPipeline.shutDown(5000);
+        sessionStore.shutDown();
+        completionIndex.shutDown();
+    }
+
+    private void startAlertSinks() {
+        final File alertDir = new File(RuneLite.RUNELITE_DIR, "new-drop-notifier");
+
+        alertPipeline.addSink(new PopupAlertSink(npcDropNotifierPopup, config::showPopup),
+                DropAlertPolicy.builder().queueCapacity(256).maxBatchSize(16).build());
+        alertPipeline.addSink(new DesktopAlertSink(notifier, config::desktopNotification),
+                DropAlertPolicy.builder().maxBatchSize(16).lingerMillis(250).build());
+        alertPipeline.addSink(new ScreenshotAlertSink(drawManager, new File(alertDir, "screenshots"), config::screenshot),
+                DropAlertPolicy.builder().queueCapacity(16).maxBatchSize(16).lingerMillis(250).maxAttempts(2).build());
+        alertPipeline.addSink(new JsonlAlertSink(new File(alertDir, "drop-events.jsonl"), config::eventLog),
+                DropAlertPolicy.builder().queueCapacity(1024).maxBatchSize(64).lingerMillis(500).maxAttempts(3).build());
+        alertPipeline.addSink(new WebhookAlertSink(okHttpClient, config::webhookUrl),
+                DropAlertPolicy.builder().queueCapacity(1024).maxBatchSize(50).lingerMillis(2000).maxAttempts(5).retryDelayMillis(2000).build());
+    }
+
+    @Subscribe
+    public void onGameStateChanged(final GameStateChanged gameStateChanged) {
+        final GameState gameState = gameStateChanged.getGameState();
+        if (gameState == GameState.LOGGED_IN) {
+            final long accountHash = client.getAccountHash();
+            ingestionLoop.submit(() -> switchAccount(accountHash));
+        } else if (gameState == GameState.LOGIN_SCREEN) {
+            ingestionLoop.submit(this::closeAccount);
+        }
+    }
+
+    @Subscribe
+    public void onHitsplatApplied(final HitsplatApplied hitsplatApplied) {
+        if (!(hitsplatApplied.getActor() instanceof NPC) || !hitsplatApplied.getHitsplat().isMine()) {
+            return;
+        }
+
+        // Start loading the drop table before the kill so the loot can be handled straight away
+        final NPC npc = (NPC) hitsplatApplied.getActor();
+        final String npcName = npc.getName();
+        final int npcId = npc.getId();
+        final int npcLevel = npc.getCombatLevel();
+        final String npcKey = npcName + "#Level" + npcLevel;
+        ingestionLoop.submit(() -> {
+            if (!Objects.equals(currentNpcKey, npcKey) && !prefetchedTables.containsKey(npcKey)) {
+                prefetch(npcKey, npcId, npcName, npcLevel);
+            }
+        });
     }
 
     @Subscribe
     public void onNpcLootReceived(final NpcLootReceived npcLootReceived) {
         final NPC npc = npcLootReceived.getNpc();
-        final Collection<ItemStack> droppedItems = npcLootReceived.getItems();
         final String npcName = npc.getName();
         final int npcLevel = npc.getCombatLevel();
-        final int npcId = npc.getId();
         final String npcKey = npcName + "#Level" + npcLevel;
 
-        if (!Objects.equals(currentNpcKey, npcKey)) {
-            // Save drop record for previous npc
-            if (!Objects.equals(currentNpcKey, "")) {
-                saveNpcDropsToFile(currentNpcKey, npcDropRecord);
-            }
-
-            currentNpcKey = npcKey;
+        // Item names can only be read on the client thread
+        final List<ItemStack> items = new ArrayList<>(npcLootReceived.getItems());
+        final List<String> itemNames = new ArrayList<>(items.size());
+        for (ItemStack item : items) {
+            itemNames.add(client.getItemDefinition(item.getId()).getName());
+        }
 
-            // Load new npc drop record
-            npcDropRecord = loadNpcDropsFromFile(npcKey);
+        final Loot loot = new Loot(npcKey, npc.getId(), npcName, npcLevel, items, itemNames);
+        ingestionLoop.submit(() -> ingestLoot(loot));
+    }
 
-            NpcDropData dropData = this.readNpcDropData(npcId, npcName);
-            currentNpcDropData = null;
+    // Ingestion loop
 
-            if (dropData != null) {
-                currentNpcDropData = dropData.getDropsByItemIdAndQuantity();
-            }
+    private void switchAccount(long accountHash) {
+        if (sessionStore.switchAccount(accountHash)) {
+            completionIndex.loadAccount(sessionStore);
+            resetCurrentNpc();
         }
+    }
 
-        for (ItemStack droppedItem : droppedItems) {
-            final Integer droppedItemId = droppedItem.getId();
-            final Integer droppedItemQuantity = droppedItem.getQuantity();
+    private void closeAccount() {
+        sessionStore.closeSession();
+        completionIndex.loadAccount(sessionStore);
+        resetCurrentNpc();
+    }
 
-            NpcDropData.Drop drop = findDrop(droppedItemId, droppedItemQuantity);
-            Set<String> previouslyDroppedQuantities = npcDropRecord.getItemId(droppedItemId);
-            String safeDropQuantity = drop != null ? drop.quantity : String.valueOf(droppedItemQuantity);
-            if (previouslyDroppedQuantities == null || !previouslyDroppedQuantities.contains(safeDropQuantity)) {
-                npcDropRecord.addDropRecord(droppedItemId, safeDropQuantity);
-                npcDropNotifierPopup.addNotificationToQueue(this.getPrettyNotificationMessage(npcName, droppedItemId, droppedItemQuantity));
-            }
-        }
+    private void resetCurrentNpc() {
+        currentNpcKey = "";
+        npcDropRecord = null;
+        currentNpcDropData = null;
+        deferredLoot.clear();
+        // A read that never finished must not keep its npc from loading again
+        pendingPrefetches.clear();
+        prefetchedTables.clear();
     }
 
-    NpcDropData.Drop findDrop(Integer itemId, Integer quantity) {
-        if (currentNpcDropData == null) {
-            return null;
-        }
+    /**
+     * Makes the given npc the current one, as if its loot had just been received. Ingestion loop only.
+     */
+    void setCurrentNpc(String npcKey, NpcDropRecord record, LazyDropTable dropData) {
+        currentNpcKey = npcKey;
+        npcDropRecord = record;
+        currentNpcDropData = dropData;
+    }
 
-        if (!currentNpcDropData.containsKey(itemId)) {
-            return null;
-        }
+    /**
+     * Returns the key of the current npc. Ingestion loop only.
+     */
+    String getCurrentNpcKey() {
+        return currentNpcKey;
+    }
 
-        List<NpcDropData.Drop> drops = currentNpcDropData.get(itemId);
-        if (drops == null || drops.isEmpty()) {
-            return null;
+    private void ingestLoot(Loot loot) {
+        if (!Objects.equals(currentNpcKey, loot.npcKey)) {
+            switchNpc(loot);
         }
 
-        for (NpcDropData.Drop drop : drops) {
-            if (quantity >= drop.minQuantity && quantity <= drop.maxQuantity) {
-                return drop;
-            }
+        if (currentNpcDropData == null) {
+            // Handled once the drop table has been loaded
+            deferredLoot.computeIfAbsent(loot.npcKey, k -> new DeferredLoot(npcDropRecord)).loot.add(loot);
+            return;
         }
-        return null;
-    }
 
-    // Notification formatting
+        processLoot(loot, npcDropRecord, currentNpcDropData);
+    }
 
-    String getDropRateColor(String rarity) {
-        if (Objects.equals(rarity, "Always")) {
-            return ALWAYS;
+    private void switchNpc(Loot loot) {
+        // Save drop record for previous npc in the background
+        if (!Objects.equals(currentNpcKey, "")) {
+            sessionStore.flush();
         }
 
-        String[] parts = rarity.split("/");
-        double numerator = Double.parseDouble(parts[0].trim());
-        double denominator = Double.parseDouble(parts[1].trim());
+        currentNpcKey = loot.npcKey;
 
-        double rarityDouble = numerator / denominator;
+        // Load new npc drop record
+        npcDropRecord = sessionStore.getRecord(loot.npcKey);
 
-        if (rarityDouble >= 0.04) {
-            return COMMON;
-        } else if (rarityDouble >= 0.01) {
-            return UNCOMMON;
-        } else if (rarityDouble >= 0.001) {
-            return RARE;
-        } else {
-            return SUPERRARE;
+        currentNpcDropData = prefetchedTables.remove(loot.npcKey);
+        if (currentNpcDropData == null) {
+            prefetch(loot.npcKey, loot.npcId, loot.npcName, loot.npcLevel);
         }
     }
 
-    String getPrettyDropRate(NpcDropData.Drop drop) {
-        if (drop == null || drop.rarity == null) {
-            return "<br><br>";
+    private void prefetch(String npcKey, int npcId, String npcName, int npcLevel) {
+        if (!pendingPrefetches.add(npcKey)) {
+            return;
         }
 
-        String prettyRarity = drop.rarity;
+        prefetchExecutor.execute(() -> {
+            LazyDropTable dropData = LazyDropTable.EMPTY;
+            try {
+                LazyDropTable dropTable = readDropTable(npcId, npcName, npcLevel);
+                if (dropTable != null) {
+                    dropData = dropTable;
+                }
+            } catch (RuntimeException e) {
+                log.warn("Could not load npc drop data for npcId {}", npcId, e);
+            }
 
-        if (drop.simplifiedDenominator != 0) {
-            prettyRarity =  "1 / " + drop.simplifiedDenominator;
+            final LazyDropTable loadedDropData = dropData;
+            ingestionLoop.submit(() -> onDropDataLoaded(npcKey, loadedDropData));
+        });
+    }
+
+    private void onDropDataLoaded(String npcKey, LazyDropTable dropData) {
+        pendingPrefetches.remove(npcKey);
+
+        // Loot received while the table was loading, even if another npc has dropped loot since
+        DeferredLoot deferred = deferredLoot.remove(npcKey);
+        if (deferred != null) {
+            for (Loot loot : deferred.loot) {
+                processLoot(loot, deferred.record, dropData);
+            }
         }
 
-        return "<br><br><col=" + getDropRateColor(drop.rarity) + ">" + prettyRarity + "</col>";
+        if (!Objects.equals(currentNpcKey, npcKey)) {
+            prefetchedTables.put(npcKey, dropData);
+        } else if (currentNpcDropData == null) {
+            currentNpcDropData = dropData;
+        }
     }
 
-    String getPrettyNotificationMessage(String npcName, Integer itemId, Integer quantity) {
-        String itemName = client.getItemDefinition(itemId).getName();
+    private void processLoot(Loot loot, NpcDropRecord record, LazyDropTable dropTable) {
+        for (int i = 0; i < loot.items.size(); i++) {
+            final ItemStack droppedItem = loot.items.get(i);
+            final Integer droppedItemId = droppedItem.getId();
+            final Integer droppedItemQuantity = droppedItem.getQuantity();
 
-        NpcDropData.Drop drop = findDrop(itemId, quantity);
-        if (drop != null && drop.maxQuantity > 1) {
-            return npcName + ":<br><col=ffffff>" + itemName + " (" + drop.quantity + ")</col>" + this.getPrettyDropRate(drop);
+            DropRow drop = dropTable.findDrop(droppedItemId, droppedItemQuantity);
+            Set<String> previouslyDroppedQuantities = record.getItemId(droppedItemId);
+            String safeDropQuantity = drop != null ? drop.getQuantity().getText() : String.valueOf(droppedItemQuantity);
+            if (previouslyDroppedQuantities == null || !previouslyDroppedQuantities.contains(safeDropQuantity)) {
+                record.addDropRecord(droppedItemId, safeDropQuantity);
+                record.setNpcId(loot.npcId);
+                sessionStore.markDirty(loot.npcKey);
+                completionIndex.recordDrop(loot.npcId, loot.npcName, loot.npcLevel, droppedItemId, safeDropQuantity);
+
+                final String itemName = loot.itemNames.get(i);
+                alertPipeline.publish(new DropAlert(loot.npcName, loot.npcLevel, droppedItemId, itemName, droppedItemQuantity,
+                        drop != null ? drop.getRarity().getText() : null,
+                        this.getPrettyNotificationMessage(loot.npcName, itemName, drop),
+                        System.currentTimeMillis()));
+            }
         }
-        return npcName + ":<br><col=ffffff>" + itemName + "</col>" + this.getPrettyDropRate(drop);
     }
 
-    // File operations
-
-    private File createOrGetNpcFolder(String npcKey) {
-        File dir = new File(RuneLite.RUNELITE_DIR + "/new-drop-notifier/" + this.client.getAccountHash() + "/", npcKey);
-        if (!dir.exists()) {
-            dir.mkdirs();
+    DropRow findDrop(Integer itemId, Integer quantity) {
+        if (currentNpcDropData == null) {
+            return null;
         }
 
-        return dir;
+        // Only the rows of this item are decoded
+        return currentNpcDropData.findDrop(itemId, quantity);
     }
 
+    // Notification formatting
 
-    private NpcDropData tryGetVariantNpcData(Integer npcId, String npcName) {
-        File potentialVariantNpcFile = findClosestLowerFile(npcId);
-        if (potentialVariantNpcFile == null) {
-            return null;
-        }
+    String getDropRateColor(String rarity) {
+        return DropRateColorConstants.getDropRateColor(rarity);
+    }
 
-        try (FileReader reader = new FileReader(potentialVariantNpcFile)) {
-            NpcDropData potentialVariantNpcDropData = gson.fromJson(reader, NpcDropData.class);
-            if (Objects.equals(potentialVariantNpcDropData.name, npcName)) {
-                return potentialVariantNpcDropData;
-            } else {
-                log.warn("Could not find base monster data file");
-                return null;
-            }
-        } catch (JsonIOException | IOException e) {
-            log.warn("Could not load npc drop data");
-            return null;
+    String getPrettyDropRate(DropRow drop) {
+        if (drop == null) {
+            return "<br><br>";
         }
-    }
 
-    public static final File MONSTER_DATA_DIR = new File(System.getProperty("user.dir"), "monster_data");
+        DropRarity rarity = drop.getRarity();
+        String prettyRarity = rarity.getText();
 
-    // Since the monster_data folder is sorted use binary search - O(log(n))
-    private static File findClosestLowerFile(int targetNumber) {
-        File[] files = MONSTER_DATA_DIR.listFiles();
-
-        Optional<File> closestLowerFile = Arrays.stream(files)
-                .filter(file -> {
-                    try {
-                        int fileNumber = Integer.parseInt(file.getName().replaceAll("\\.[^.]+$", ""));
-                        return fileNumber <= targetNumber;
-                    } catch (NumberFormatException e) {
-                        return false; // Skip files that don't have numeric names
-                    }
-                })
-                .max((file1, file2) -> {
-                    int num1 = Integer.parseInt(file1.getName().replaceAll("\\.[^.]+$", ""));
-                    int num2 = Integer.parseInt(file2.getName().replaceAll("\\.[^.]+$", ""));
-                    return Integer.compare(num1, num2);
-                });
-
-        if (closestLowerFile.isPresent()) {
-            return closestLowerFile.get();
-        } else {
-            System.out.println("No file found with a number lower than " + targetNumber);
+        if (rarity.getSimplifiedDenominator() != 0) {
+            prettyRarity =  "1 / " + rarity.getSimplifiedDenominator();
         }
 
-        return null;
+        return "<br><br><col=" + rarity.getColor() + ">" + prettyRarity + "</col>";
     }
 
-    NpcDropData readNpcDropData(Integer npcId, String npcName) {
-        File npcDataFile = new File(MONSTER_DATA_DIR, npcId + ".json");
-        log.info("Loading file for npcId {}", npcId);
-        try (FileReader reader = new FileReader(npcDataFile)) {
-            return gson.fromJson(reader, NpcDropData.class);
-        } catch (JsonIOException | IOException e) {
-            log.info("Could not load npc drop data for npcId {}, trying to find base monster file", npcId);
-            return tryGetVariantNpcData(npcId, npcName);
+    String getPrettyNotificationMessage(String npcName, String itemName, DropRow drop) {
+        if (drop != null && drop.getQuantity().getMax() > 1) {
+            return npcName + ":<br><col=ffffff>" + itemName + " (" + drop.getQuantity() + ")</col>" + this.getPrettyDropRate(drop);
         }
+        return npcName + ":<br><col=ffffff>" + itemName + "</col>" + this.getPrettyDropRate(drop);
     }
 
-    private void saveNpcDropsToFile(String npcKey, NpcDropRecord npcDropRecord) {
-        File dir = this.createOrGetNpcFolder(npcKey);
-        File dataFile = new File(dir, "drop-log.json");
-        try (FileWriter writer = new FileWriter(dataFile)) {
-            gson.toJson(npcDropRecord, writer);
+    // File operations
+
+    public static final File MONSTER_DATA_DIR = new File(System.getProperty("user.dir"), "monster_data");
+
+    LazyDropTable readDropTable(Integer npcId, String npcName, int npcLevel) {
+        Integer tableId = tableIndex.resolve(npcId, npcName, npcLevel);
+        if (tableId == null) {
+            log.debug("No drop table for {} ({})", npcName, npcId);
+            return null;
+        }
+
+        File npcDataFile = new File(MONSTER_DATA_DIR, tableId + ".json");
+        log.info("Loading file {} for npcId {}", tableId, npcId);
+        try (Reader reader = new InputStreamReader(new FileInputStream(npcDataFile), StandardCharsets.UTF_8)) {
+            return LazyDropTable.read(reader);
         } catch (IOException e) {
-            log.warn("Failed to save drop data", e);
+            log.warn("Could not load npc drop data for npcId {}", npcId);
+            return null;
         }
     }
 
-    private NpcDropRecord loadNpcDropsFromFile(String npcKey) {
-        File dataFile = new File(createOrGetNpcFolder(npcKey), "drop-log.json");
-        if (!dataFile.exists())
-            return new NpcDropRecord();
+    private static final class DeferredLoot {
+        private final NpcDropRecord record;
+        private final List<Loot> loot = new ArrayList<>();
 
-        Type type = new TypeToken<NpcDropRecord>() {
-        }.getType();
-        try (FileReader reader = new FileReader(dataFile)) {
-            NpcDropRecord loaded = gson.fromJson(reader, type);
-            return loaded != null ? loaded : new NpcDropRecord();
-        } catch (IOException e) {
-            log.warn("Failed to load drop data", e);
-            return new NpcDropRecord();
+        private DeferredLoot(NpcDropRecord record) {
+            this.record = record;
+        }
+    }
+
+    private static final class Loot {
+        private final String npcKey;
+        private final int npcId;
+        private final String npcName;
+        private final int npcLevel;
+        private final List<ItemStack> items;
+        private final List<String> itemNames;
+
+        private Loot(String npcKey, int npcId, String npcName, int npcLevel, List<ItemStack> items, List<String> itemNames) {
+            this.npcKey = npcKey;
+            this.npcId = npcId;
+            this.npcName = npcName;
+            this.npcLevel = npcLevel;
+            this.items = items;
+            this.itemNames = itemNames;
         }
     }
 }
@@ -20,16 +20,22 @@ public class NpcDropNotifierPopup {
     @Inject private ClientThread clientThread;
 
 
+    // Client thread only
     private WidgetNode popupWidgetNode;
     private final List<String> queuedPopups = new ArrayList<>();
 
 
+    /**
+     * Queues a popup. May be called from any thread, the queue itself is only touched on the client thread.
+     */
     public void addNotificationToQueue(String message) {
         String cleanMessage = message.replace("~", "").replace("|", "");
-        queuedPopups.add(cleanMessage);
-        if (queuedPopups.size() == 1) {
-            showPopup(cleanMessage);
-        }
+        clientThread.invoke(() -> {
+            queuedPopups.add(cleanMessage);
+            if (queuedPopups.size() == 1) {
+                showPopup(cleanMessage);
+            }
+        });
     }
     public static final int RESIZABLE_CLASSIC_LAYOUT = (161 << 16) | 13;
     public static final int RESIZABLE_MODERN_LAYOUT = (164 << 16) | 13;
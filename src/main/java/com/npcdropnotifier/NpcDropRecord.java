@@ -4,6 +4,8 @@ import java.util.*;
 
 public class NpcDropRecord {
    private final Map<Integer, Set<String>> itemDrops;
+   // Id of the npc that last added a drop, so its table resolves the same way after a restart
+   private Integer npcId;
 
    public NpcDropRecord() {
        this(new HashMap<>());
@@ -13,11 +15,40 @@ public class NpcDropRecord {
        this.itemDrops = itemDrops;
     }
 
-    public void addDropRecord(Integer itemId, String quantity) {
+    public synchronized void addDropRecord(Integer itemId, String quantity) {
       this.itemDrops.computeIfAbsent(itemId, k -> new HashSet<>()).add(quantity);
     }
 
-    public Set<String> getItemId(Integer itemId) {
+    public synchronized Set<String> getItemId(Integer itemId) {
         return this.itemDrops.get(itemId);
     }
+
+    public synchronized void setNpcId(int npcId) {
+        this.npcId = npcId;
+    }
+
+    /**
+     * Returns the id of the npc that last added a drop, or null for records saved before ids were kept.
+     */
+    public synchronized Integer getNpcId() {
+        return this.npcId;
+    }
+
+    /**
+     * Returns a deep copy of the recorded drops, safe to read from another thread.
+     */
+    public synchronized Map<Integer, Set<String>> copyItemDrops() {
+        Map<Integer, Set<String>> copy = new HashMap<>();
+        this.itemDrops.forEach((itemId, quantities) -> copy.put(itemId, new HashSet<>(quantities)));
+        return copy;
+    }
+
+    /**
+     * Returns a deep copy of the record, safe to read from another thread.
+     */
+    public synchronized NpcDropRecord copy() {
+        NpcDropRecord copy = new NpcDropRecord(copyItemDrops());
+        copy.npcId = this.npcId;
+        return copy;
+    }
 }
@@ -0,0 +1,294 @@
+package com.npcdropnotifier;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.client.RuneLite;
+
+import javax.inject.Singleton;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Account scoped storage for {@link NpcDropRecord}s.
+ * <p>
+ * The account hash is captured once when the session is opened, so records can never be written under an
+ * account that logged in afterwards. Records are loaded on first use, the list of npcs with a saved record is
+ * read once per account, and no directory is created until there is a dirty record to write. Writes happen on
+ * a single background thread, in submission order.
+ */
+@Slf4j
+@Singleton
+public class NpcDropSessionStore {
+    static final String DROP_LOG_FILE = "drop-log.json";
+
+    private final File baseDir;
+    private final Gson gson = new Gson();
+    private final ExecutorService flushExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "npc-drop-notifier-flush");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // drop-log.json files queued on the flush thread, served to loads until they have been written
+    private final Map<File, String> pendingWrites = new HashMap<>();
+
+    private AccountSession session;
+
+    public NpcDropSessionStore() {
+        this(new File(RuneLite.RUNELITE_DIR, "new-drop-notifier"));
+    }
+
+    NpcDropSessionStore(File baseDir) {
+        this.baseDir = baseDir;
+    }
+
+    /**
+     * Opens the session for the given account. The dirty records of the previous account, if any, are flushed
+     * in the background first.
+     *
+     * @return true if the active account changed
+     */
+    public synchronized boolean switchAccount(long accountHash) {
+        if (session != null && session.accountHash == accountHash) {
+            return false;
+        }
+
+        closeSession();
+        session = new AccountSession(accountHash, new File(baseDir, String.valueOf(accountHash)));
+        return true;
+    }
+
+    /**
+     * Flushes and detaches the active session, e.g. when returning to the login screen.
+     */
+    public synchronized void closeSession() {
+        if (session == null) {
+            return;
+        }
+
+        flush();
+        session = null;
+    }
+
+    /**
+     * Returns the record for the npc, loading it from disk the first time it is requested in this session.
+     * Returns an empty, detached record when no account is logged in.
+     */
+    public synchronized NpcDropRecord getRecord(String npcKey) {
+        if (session == null) {
+            return new NpcDropRecord();
+        }
+
+        return session.records.computeIfAbsent(npcKey, session::load);
+    }
+
+    /**
+     * Returns the npc keys with a record for the active account, both saved and loaded this session.
+     */
+    public synchronized Set<String> getNpcKeys() {
+        if (session == null) {
+            return Collections.emptySet();
+        }
+
+        Set<String> npcKeys = new HashSet<>(session.persistedKeys());
+        npcKeys.addAll(session.records.keySet());
+        for (File dataFile : pendingWrites.keySet()) {
+            File npcDir = dataFile.getParentFile();
+            if (session.accountDir.equals(npcDir.getParentFile())) {
+                npcKeys.add(npcDir.getName());
+            }
+        }
+        return npcKeys;
+    }
+
+    /**
+     * Returns a copy of the record of every npc of the active account, keyed by npc key. Records that are not loaded
+     * yet are read outside the store's lock and are not kept in the session.
+     */
+    public Map<String, NpcDropRecord> readAllRecords() {
+        final Map<String, NpcDropRecord> records = new HashMap<>();
+        final Map<String, String> pendingJson = new HashMap<>();
+        final Map<String, File> dataFiles = new HashMap<>();
+        synchronized (this) {
+            if (session == null) {
+                return records;
+            }
+
+            for (String npcKey : getNpcKeys()) {
+                NpcDropRecord record = session.records.get(npcKey);
+                File dataFile = session.dataFile(npcKey);
+                if (record != null) {
+                    records.put(npcKey, record.copy());
+                } else if (pendingWrites.containsKey(dataFile)) {
+                    pendingJson.put(npcKey, pendingWrites.get(dataFile));
+                } else {
+                    dataFiles.put(npcKey, dataFile);
+                }
+            }
+        }
+
+        pendingJson.forEach((npcKey, json) -> records.put(npcKey, parseRecord(json)));
+        dataFiles.forEach((npcKey, dataFile) -> records.put(npcKey, readRecord(dataFile)));
+        return records;
+    }
+
+    public synchronized void markDirty(String npcKey) {
+        if (session != null && session.records.containsKey(npcKey)) {
+            session.dirty.add(npcKey);
+        }
+    }
+
+    /**
+     * Serializes the dirty records of the active session and writes them on the flush thread.
+     */
+    public synchronized CompletableFuture<Void> flush() {
+        if (session == null || session.dirty.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        final Map<File, String> pending = new LinkedHashMap<>();
+        for (String npcKey : session.dirty) {
+            pending.put(session.dataFile(npcKey), gson.toJson(session.records.get(npcKey)));
+        }
+        session.dirty.clear();
+        pendingWrites.putAll(pending);
+
+        return CompletableFuture.runAsync(() -> pending.forEach((dataFile, json) -> {
+            write(dataFile, json);
+            synchronized (this) {
+                pendingWrites.remove(dataFile, json);
+                if (session != null) {
+                    session.written(dataFile);
+                }
+            }
+        }), flushExecutor);
+    }
+
+    /**
+     * Flushes the active session and waits for all pending writes to finish. The store outlives the plugin, so the
+     * flush thread is kept for the next start.
+     */
+    public void shutDown() {
+        closeSession();
+
+        // Writes run in submission order, so this completes once every earlier write has
+        try {
+            CompletableFuture.runAsync(() -> {
+            }, flushExecutor).get(5, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            log.warn("Timed out waiting for drop data to be saved");
+        } catch (ExecutionException e) {
+            log.warn("Failed to wait for drop data to be saved", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private NpcDropRecord parseRecord(String json) {
+        NpcDropRecord parsed = gson.fromJson(json, NpcDropRecord.class);
+        return parsed != null ? parsed : new NpcDropRecord();
+    }
+
+    private NpcDropRecord readRecord(File dataFile) {
+        if (!dataFile.exists()) {
+            return new NpcDropRecord();
+        }
+
+        try (Reader reader = new InputStreamReader(new FileInputStream(dataFile), StandardCharsets.UTF_8)) {
+            NpcDropRecord loaded = gson.fromJson(reader, NpcDropRecord.class);
+            return loaded != null ? loaded : new NpcDropRecord();
+        } catch (IOException | JsonParseException e) {
+            log.warn("Failed to load drop data", e);
+            return new NpcDropRecord();
+        }
+    }
+
+    private static void write(File dataFile, String json) {
+        File dir = dataFile.getParentFile();
+        if (!dir.exists() && !dir.mkdirs()) {
+            log.warn("Failed to create drop data directory {}", dir);
+            return;
+        }
+
+        File tempFile = new File(dir, DROP_LOG_FILE + ".tmp");
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(tempFile), StandardCharsets.UTF_8)) {
+            writer.write(json);
+        } catch (IOException e) {
+            log.warn("Failed to save drop data", e);
+            return;
+        }
+
+        try {
+            try {
+                Files.move(tempFile.toPath(), dataFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile.toPath(), dataFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            log.warn("Failed to save drop data", e);
+        }
+    }
+
+    private final class AccountSession {
+        private final long accountHash;
+        private final File accountDir;
+        private final Map<String, NpcDropRecord> records = new HashMap<>();
+        private final Set<String> dirty = new LinkedHashSet<>();
+
+        // npc keys with a drop-log.json on disk, read on first lookup
+        private Set<String> persistedKeys;
+
+        private AccountSession(long accountHash, File accountDir) {
+            this.accountHash = accountHash;
+            this.accountDir = accountDir;
+        }
+
+        private Set<String> persistedKeys() {
+            if (persistedKeys == null) {
+                persistedKeys = new HashSet<>();
+                File[] npcDirs = accountDir.listFiles(File::isDirectory);
+                if (npcDirs != null) {
+                    for (File npcDir : npcDirs) {
+                        persistedKeys.add(npcDir.getName());
+                    }
+                }
+            }
+            return persistedKeys;
+        }
+
+        private void written(File dataFile) {
+            File npcDir = dataFile.getParentFile();
+            if (persistedKeys != null && accountDir.equals(npcDir.getParentFile())) {
+                persistedKeys.add(npcDir.getName());
+            }
+        }
+
+        private File dataFile(String npcKey) {
+            return new File(new File(accountDir, npcKey), DROP_LOG_FILE);
+        }
+
+        private NpcDropRecord load(String npcKey) {
+            File dataFile = dataFile(npcKey);
+            String pendingJson = pendingWrites.get(dataFile);
+            if (pendingJson != null) {
+                return parseRecord(pendingJson);
+            }
+
+            if (!persistedKeys().contains(npcKey)) {
+                return new NpcDropRecord();
+            }
+            return readRecord(dataFile);
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package com.npcdropnotifier;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.inject.Singleton;
+import java.io.*;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Resolves an npc to the monster_data table holding its drops.
+ * <p>
+ * The index is built from the {@code id} and {@code name} of every table, during the same scan that loads the
+ * tables for the completion index, plus the explicit aliases in {@code npc_aliases.json} for npcs that are renamed
+ * or transformed in game.
+ * monster_data has no combat levels, so the only (name, combat level) signatures known up front come from wiki names
+ * such as "Man (level 4)". Resolution is then a few hash lookups and never touches the disk:
+ * <ol>
+ *     <li>the npc id alias, whatever the npc is named</li>
+ *     <li>the npc id, when the table it points at has the same name</li>
+ *     <li>the (name, combat level) signature of a "(level N)" table</li>
+ *     <li>the signature cache, so id variants share the table their id resolved to earlier</li>
+ *     <li>the npc name, after aliases, falling back to a wiki name with a disambiguation suffix such as
+ *     "Sleepwalker (monster)" when exactly one table has that base name</li>
+ * </ol>
+ * Names shared by several disambiguated tables, like the Soldier variants, need an alias to resolve by name.
+ */
+@Slf4j
+@Singleton
+public class NpcDropTableIndex {
+    private static final String ALIASES_RESOURCE = "npc_aliases.json";
+    private static final Pattern LEVEL_SUFFIX = Pattern.compile("(.+) \\(level (\\d+)\\)");
+    // byBaseName value for base names shared by several tables
+    private static final int AMBIGUOUS = -1;
+
+    private final File monsterDataDir;
+    private final URL aliases;
+    private final Gson gson = new Gson();
+
+    // (normalized name + "#" + combat level) -> table id, filled in as npcs are resolved by id
+    private final Map<String, Integer> signatures = new ConcurrentHashMap<>();
+
+    private volatile Tables tables;
+
+    public NpcDropTableIndex() {
+        this(NpcDropNotifierPlugin.MONSTER_DATA_DIR);
+    }
+
+    NpcDropTableIndex(File monsterDataDir) {
+        this(monsterDataDir, NpcDropTableIndex.class.getResource(ALIASES_RESOURCE));
+    }
+
+    NpcDropTableIndex(File monsterDataDir, URL aliases) {
+        this.monsterDataDir = monsterDataDir;
+        this.aliases = aliases;
+    }
+
+    /**
+     * Reads every table once, rebuilding the index from it and handing each table with its file id to the consumer.
+     * This is how the completion index loads its tables during start up, so monster_data is only read once.
+     * Resolutions made meanwhile wait for the scan, without a scan the first resolution builds the index itself.
+     */
+    public synchronized void scan(BiConsumer<Integer, LazyDropTable> consumer) {
+        tables = readTables(consumer);
+    }
+
+    /**
+     * Returns the id of the table to read drops from, or null if the npc has no drop table.
+     */
+    public Integer resolve(int npcId, String npcName, int combatLevel) {
+        final Tables tables = tables();
+        final String name = normalize(npcName);
+        final String canonicalName = tables.nameAliases.getOrDefault(name, name);
+        final String signature = canonicalName + "#" + combatLevel;
+
+        // An id alias is explicit, the npc's name may be nothing like its table's
+        Integer aliasTableId = tables.idAliases.get(npcId);
+        if (aliasTableId != null) {
+            if (!canonicalName.isEmpty()) {
+                signatures.putIfAbsent(signature, aliasTableId);
+            }
+            return aliasTableId;
+        }
+
+        Integer tableId = tables.byId.get(npcId);
+        if (tableId != null && (canonicalName.isEmpty() || baseName(canonicalName).equals(tables.baseNames.get(tableId)))) {
+            if (!canonicalName.isEmpty()) {
+                signatures.putIfAbsent(signature, tableId);
+            }
+            return tableId;
+        }
+
+        Integer levelTableId = tables.byLevelSignature.get(signature);
+        if (levelTableId != null) {
+            return levelTableId;
+        }
+
+        Integer signatureTableId = signatures.get(signature);
+        if (signatureTableId != null) {
+            return signatureTableId;
+        }
+
+        Integer nameTableId = tables.byName.get(canonicalName);
+        if (nameTableId == null) {
+            Integer baseNameTableId = tables.byBaseName.get(canonicalName);
+            if (baseNameTableId != null && baseNameTableId != AMBIGUOUS) {
+                nameTableId = baseNameTableId;
+            }
+        }
+        if (nameTableId != null) {
+            signatures.put(signature, nameTableId);
+            return nameTableId;
+        }
+
+        // Nothing matches the name, the id is still the best guess
+        return tableId;
+    }
+
+    static String normalize(String npcName) {
+        if (npcName == null) {
+            return "";
+        }
+
+        return npcName.replaceAll("<[^>]*>", "")
+                .replace('\u00a0', ' ')
+                .replaceAll("\\s+", " ")
+                .trim()
+                .toLowerCase(Locale.ROOT);
+    }
+
+    // "sleepwalker (monster)" -> "sleepwalker"
+    private static String baseName(String normalizedName) {
+        int suffix = normalizedName.indexOf(" (");
+        return suffix > 0 && normalizedName.endsWith(")") ? normalizedName.substring(0, suffix) : normalizedName;
+    }
+
+    private Tables tables() {
+        Tables current = tables;
+        if (current == null) {
+            synchronized (this) {
+                current = tables;
+                if (current == null) {
+                    current = readTables((id, dropTable) -> {
+                    });
+                    tables = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private Tables readTables(BiConsumer<Integer, LazyDropTable> consumer) {
+        final Tables tables = new Tables();
+        final File[] files = monsterDataDir.listFiles((dir, name) -> name.endsWith(".json"));
+        if (files == null) {
+            log.warn("Could not list monster data in {}", monsterDataDir);
+            return tables;
+        }
+
+        final Map<Integer, Integer> jsonIds = new HashMap<>();
+        for (File file : files) {
+            final int fileId;
+            try {
+                fileId = Integer.parseInt(file.getName().substring(0, file.getName().length() - ".json".length()));
+            } catch (NumberFormatException e) {
+                continue;
+            }
+
+            final LazyDropTable dropTable;
+            try (Reader reader = new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8)) {
+                dropTable = LazyDropTable.read(reader);
+            } catch (IOException e) {
+                log.warn("Could not load npc drop data from {}", file.getName());
+                continue;
+            }
+
+            final Integer jsonId = dropTable.getId();
+            tables.add(fileId, normalize(dropTable.getName()));
+            if (jsonId != null && jsonId != fileId) {
+                jsonIds.put(jsonId, fileId);
+            }
+            consumer.accept(fileId, dropTable);
+        }
+
+        // A table's own id field only counts if no file has that id
+        jsonIds.forEach(tables.byId::putIfAbsent);
+
+        readAliases(tables);
+        log.debug("Indexed {} npc drop tables", tables.byId.size());
+        return tables;
+    }
+
+    private void readAliases(Tables tables) {
+        if (aliases == null) {
+            return;
+        }
+
+        try (InputStream in = aliases.openStream()) {
+            Aliases parsed = gson.fromJson(new InputStreamReader(in, StandardCharsets.UTF_8), Aliases.class);
+            if (parsed == null) {
+                return;
+            }
+            if (parsed.names != null) {
+                parsed.names.forEach((alias, tableName) -> tables.nameAliases.put(normalize(alias), normalize(tableName)));
+            }
+            if (parsed.ids != null) {
+                tables.idAliases.putAll(parsed.ids);
+            }
+        } catch (IOException | JsonParseException e) {
+            log.warn("Could not load npc aliases", e);
+        }
+    }
+
+    private static final class Tables {
+        private final Map<Integer, Integer> byId = new HashMap<>();
+        // table id -> normalized name without disambiguation suffix
+        private final Map<Integer, String> baseNames = new HashMap<>();
+        private final Map<String, Integer> byName = new HashMap<>();
+        private final Map<String, Integer> byBaseName = new HashMap<>();
+        // (base name + "#" + combat level) -> table id, from "(level N)" names
+        private final Map<String, Integer> byLevelSignature = new HashMap<>();
+        private final Map<String, String> nameAliases = new HashMap<>();
+        private final Map<Integer, Integer> idAliases = new HashMap<>();
+
+        private void add(int tableId, String name) {
+            byId.put(tableId, tableId);
+            if (name.isEmpty()) {
+                return;
+            }
+
+            // Lowest id wins when several tables share a name, a shared base name is not resolved by name at all
+            String baseName = baseName(name);
+            baseNames.put(tableId, baseName);
+            byName.merge(name, tableId, Math::min);
+            if (!name.equals(baseName)) {
+                byBaseName.merge(baseName, tableId, (a, b) -> AMBIGUOUS);
+            }
+
+            Matcher level = LEVEL_SUFFIX.matcher(name);
+            if (level.matches()) {
+                byLevelSignature.merge(level.group(1) + "#" + level.group(2), tableId, Math::min);
+            }
+        }
+    }
+
+    /**
+     * Shape of {@code npc_aliases.json}.
+     */
+    private static final class Aliases {
+        // in game name -> monster_data table name
+        private Map<String, String> names;
+        // npc id -> monster_data table id
+        private Map<Integer, Integer> ids;
+    }
+}
@@ -0,0 +1,34 @@
+package com.npcdropnotifier;
+
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Shows the in-game "New Drop" popup.
+ */
+public class PopupAlertSink implements DropAlertSink {
+    private final NpcDropNotifierPopup popup;
+    private final BooleanSupplier enabled;
+
+    public PopupAlertSink(NpcDropNotifierPopup popup, BooleanSupplier enabled) {
+        this.popup = popup;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public String getName() {
+        return "popup";
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled.getAsBoolean();
+    }
+
+    @Override
+    public void deliver(List<DropAlert> alerts) {
+        for (DropAlert alert : alerts) {
+            popup.addNotificationToQueue(alert.getMessage());
+        }
+    }
+}
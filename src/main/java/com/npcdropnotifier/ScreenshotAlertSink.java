@@ -0,0 +1,63 @@
+package com.npcdropnotifier;
+
+import net.runelite.client.ui.DrawManager;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Saves a screenshot of the next frame, one per batch, to a local directory.
+ */
+public class ScreenshotAlertSink implements DropAlertSink {
+    private static final long FRAME_TIMEOUT_MILLIS = 5000;
+
+    private final DrawManager drawManager;
+    private final File screenshotDir;
+    private final BooleanSupplier enabled;
+
+    public ScreenshotAlertSink(DrawManager drawManager, File screenshotDir, BooleanSupplier enabled) {
+        this.drawManager = drawManager;
+        this.screenshotDir = screenshotDir;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public String getName() {
+        return "screenshot";
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled.getAsBoolean();
+    }
+
+    @Override
+    public void deliver(List<DropAlert> alerts) throws Exception {
+        CompletableFuture<Image> frame = new CompletableFuture<>();
+        drawManager.requestNextFrameListener(frame::complete);
+        Image image = frame.get(FRAME_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+
+        BufferedImage screenshot = new BufferedImage(image.getWidth(null), image.getHeight(null), BufferedImage.TYPE_INT_ARGB);
+        Graphics graphics = screenshot.getGraphics();
+        graphics.drawImage(image, 0, 0, null);
+        graphics.dispose();
+
+        if (!screenshotDir.exists() && !screenshotDir.mkdirs()) {
+            throw new IOException("Could not create " + screenshotDir);
+        }
+
+        DropAlert alert = alerts.get(0);
+        String timestamp = new SimpleDateFormat("yyyy-MM-dd_HH-mm-ss").format(new Date(alert.getTimestamp()));
+        String fileName = (alert.getNpcName() + " " + alert.getItemName() + " " + timestamp).replaceAll("[^A-Za-z0-9 ._'()-]", "_");
+        ImageIO.write(screenshot, "png", new File(screenshotDir, fileName + ".png"));
+    }
+}
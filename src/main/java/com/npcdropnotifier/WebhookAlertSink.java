@@ -0,0 +1,64 @@
+package com.npcdropnotifier;
+
+import com.google.gson.Gson;
+import okhttp3.HttpUrl;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * POSTs each batch of alerts as a json array to a webhook, e.g. a local drop aggregator.
+ */
+public class WebhookAlertSink implements DropAlertSink {
+    private static final MediaType JSON = MediaType.parse("application/json; charset=utf-8");
+    private static final int TIMEOUT_MILLIS = 5000;
+
+    private final Gson gson = new Gson();
+    private final OkHttpClient httpClient;
+    private final Supplier<String> webhookUrl;
+
+    public WebhookAlertSink(OkHttpClient httpClient, Supplier<String> webhookUrl) {
+        // Shares the client's connection pool, proxy and user agent, only the timeouts differ
+        this.httpClient = httpClient.newBuilder()
+                .connectTimeout(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)
+                .readTimeout(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)
+                .build();
+        this.webhookUrl = webhookUrl;
+    }
+
+    @Override
+    public String getName() {
+        return "webhook";
+    }
+
+    @Override
+    public boolean isEnabled() {
+        String url = webhookUrl.get();
+        return url != null && !url.trim().isEmpty();
+    }
+
+    @Override
+    public void deliver(List<DropAlert> alerts) throws IOException {
+        HttpUrl url = HttpUrl.parse(webhookUrl.get().trim());
+        if (url == null) {
+            throw new IOException("Invalid webhook url");
+        }
+
+        Request request = new Request.Builder()
+                .url(url)
+                .post(RequestBody.create(JSON, gson.toJson(alerts)))
+                .build();
+        try (Response response = httpClient.newCall(request).execute()) {
+            if (!response.isSuccessful()) {
+                throw new IOException("Webhook responded with " + response.code());
+            }
+        }
+    }
+}
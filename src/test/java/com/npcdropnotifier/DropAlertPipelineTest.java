@@ -0,0 +1,167 @@
+package com.npcdropnotifier;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import com.sun.net.httpserver.HttpServer;
+import okhttp3.OkHttpClient;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class DropAlertPipelineTest {
+    private final Gson gson = new Gson();
+    private final OkHttpClient httpClient = new OkHttpClient();
+
+    private HttpServer webhookServer;
+    private String webhookUrl;
+    private final BlockingQueue<List<DropAlert>> receivedBatches = new LinkedBlockingQueue<>();
+    private final AtomicInteger failuresLeft = new AtomicInteger();
+
+    private DropAlertPipeline pipeline;
+
+    @Before
+    public void setUp() throws Exception {
+        // Local stand-in for a drop aggregator webhook
+        webhookServer = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        webhookServer.createContext("/drops", exchange -> {
+            try (InputStream in = exchange.getRequestBody()) {
+                List<DropAlert> batch = gson.fromJson(new InputStreamReader(in, StandardCharsets.UTF_8),
+                        new TypeToken<List<DropAlert>>() {
+                        }.getType());
+                if (failuresLeft.getAndDecrement() > 0) {
+                    exchange.sendResponseHeaders(503, -1);
+                } else {
+                    receivedBatches.add(batch);
+                    exchange.sendResponseHeaders(204, -1);
+                }
+            } finally {
+                exchange.close();
+            }
+        });
+        webhookServer.start();
+        webhookUrl = "http://127.0.0.1:" + webhookServer.getAddress().getPort() + "/drops";
+
+        pipeline = new DropAlertPipeline();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        pipeline.shutDown(5000);
+        webhookServer.stop(0);
+    }
+
+    @Test
+    public void testWebhookReceivesBatch() throws Exception {
+        pipeline.addSink(new WebhookAlertSink(httpClient, () -> webhookUrl),
+                DropAlertPolicy.builder().maxBatchSize(10).lingerMillis(500).build());
+
+        pipeline.publish(alert("Dragon bones"));
+        pipeline.publish(alert("Dragon med helm"));
+
+        List<DropAlert> batch = receivedBatches.poll(5, TimeUnit.SECONDS);
+        assertNotNull(batch);
+        assertEquals(2, batch.size());
+        assertEquals(alert("Dragon bones"), batch.get(0));
+        assertEquals("Dragon med helm", batch.get(1).getItemName());
+    }
+
+    @Test
+    public void testWebhookRetriesFailedBatch() throws Exception {
+        failuresLeft.set(2);
+        pipeline.addSink(new WebhookAlertSink(httpClient, () -> webhookUrl),
+                DropAlertPolicy.builder().maxAttempts(3).retryDelayMillis(10).build());
+
+        pipeline.publish(alert("Dragon bones"));
+
+        List<DropAlert> batch = receivedBatches.poll(5, TimeUnit.SECONDS);
+        assertNotNull(batch);
+        assertEquals("Dragon bones", batch.get(0).getItemName());
+    }
+
+    @Test
+    public void testShutDownStopsRetrying() throws Exception {
+        failuresLeft.set(100);
+        pipeline.addSink(new WebhookAlertSink(httpClient, () -> webhookUrl),
+                DropAlertPolicy.builder().maxAttempts(5).retryDelayMillis(2000).build());
+
+        pipeline.publish(alert("Dragon bones"));
+        pipeline.publish(alert("Green dragonhide"));
+        long deadline = System.currentTimeMillis() + 5000;
+        while (failuresLeft.get() == 100 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(failuresLeft.get() < 100);
+
+        // The webhook is still failing, shut down does not wait for the remaining attempts
+        long start = System.nanoTime();
+        pipeline.shutDown(5000);
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+        assertTrue(receivedBatches.isEmpty());
+    }
+
+    @Test
+    public void testSlowSinkDoesNotDelayOtherSinks() throws Exception {
+        CountDownLatch slowSinkStarted = new CountDownLatch(1);
+        CountDownLatch releaseSlowSink = new CountDownLatch(1);
+        AtomicInteger slowDelivered = new AtomicInteger();
+        pipeline.addSink(new DropAlertSink() {
+            @Override
+            public String getName() {
+                return "slow";
+            }
+
+            @Override
+            public void deliver(List<DropAlert> alerts) throws Exception {
+                slowSinkStarted.countDown();
+                releaseSlowSink.await();
+                slowDelivered.addAndGet(alerts.size());
+            }
+        }, DropAlertPolicy.builder().queueCapacity(2).build());
+        pipeline.addSink(new WebhookAlertSink(httpClient, () -> webhookUrl), DropAlertPolicy.builder().build());
+
+        pipeline.publish(alert("Item 0"));
+        assertTrue(slowSinkStarted.await(5, TimeUnit.SECONDS));
+
+        // publish never blocks, even once the slow sink's queue is full
+        long start = System.nanoTime();
+        for (int i = 1; i < 5; i++) {
+            pipeline.publish(alert("Item " + i));
+        }
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+
+        for (int i = 0; i < 5; i++) {
+            assertNotNull(receivedBatches.poll(5, TimeUnit.SECONDS));
+        }
+
+        releaseSlowSink.countDown();
+        pipeline.shutDown(5000);
+        // One alert was in flight and two were queued, the rest were dropped
+        assertEquals(3, slowDelivered.get());
+    }
+
+    @Test
+    public void testDisabledSinkIsSkipped() throws Exception {
+        pipeline.addSink(new WebhookAlertSink(httpClient, () -> ""), DropAlertPolicy.builder().build());
+
+        pipeline.publish(alert("Dragon bones"));
+
+        assertNull(receivedBatches.poll(300, TimeUnit.MILLISECONDS));
+    }
+
+    private static DropAlert alert(String itemName) {
+        return new DropAlert("Green dragon", 79, 536, itemName, 1, "Always", "Green dragon:<br>" + itemName, 1700000000000L);
+    }
+}
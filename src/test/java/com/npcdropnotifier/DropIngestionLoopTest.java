@@ -0,0 +1,116 @@
+package com.npcdropnotifier;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class DropIngestionLoopTest {
+    @Test
+    public void testCommandsRunOnSingleThread() throws Exception {
+        DropIngestionLoop loop = new DropIngestionLoop("test-ingest");
+        loop.start();
+
+        // Deliberately unsynchronized, the loop thread is the only writer
+        List<Integer> executed = new ArrayList<>();
+        Set<Thread> threads = new HashSet<>();
+        int producers = 4;
+        int commandsPerProducer = 1000;
+        CountDownLatch submitted = new CountDownLatch(producers);
+        for (int p = 0; p < producers; p++) {
+            new Thread(() -> {
+                for (int i = 0; i < commandsPerProducer; i++) {
+                    final int value = i;
+                    loop.submit(() -> {
+                        executed.add(value);
+                        threads.add(Thread.currentThread());
+                    });
+                }
+                submitted.countDown();
+            }).start();
+        }
+
+        assertTrue(submitted.await(5, TimeUnit.SECONDS));
+        CountDownLatch done = new CountDownLatch(1);
+        loop.submit(done::countDown);
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        loop.stop(5000);
+
+        assertEquals(producers * commandsPerProducer, executed.size());
+        assertEquals(1, threads.size());
+        assertEquals("test-ingest", threads.iterator().next().getName());
+    }
+
+    @Test
+    public void testStopRunsQueuedCommands() throws Exception {
+        DropIngestionLoop loop = new DropIngestionLoop("test-ingest");
+        loop.start();
+
+        List<String> executed = new ArrayList<>();
+        loop.submit(() -> executed.add("flush"));
+        loop.submit(() -> executed.add("shutdown"));
+        loop.stop(5000);
+
+        assertEquals(2, executed.size());
+        assertEquals("shutdown", executed.get(1));
+    }
+
+    @Test
+    public void testRestartWaitsForTimedOutThread() throws Exception {
+        DropIngestionLoop loop = new DropIngestionLoop("test-ingest");
+        loop.start();
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        loop.submit(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        loop.stop(50);
+
+        // The old thread is still running a command, a second consumer must not be started
+        try {
+            loop.start();
+            fail("Started a second loop thread");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+
+        release.countDown();
+        loop.stop(5000);
+        loop.start();
+
+        CountDownLatch done = new CountDownLatch(1);
+        loop.submit(done::countDown);
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        loop.stop(5000);
+    }
+
+    @Test
+    public void testCommandsSubmittedAfterStopAreDropped() throws Exception {
+        DropIngestionLoop loop = new DropIngestionLoop("test-ingest");
+        loop.start();
+        loop.stop(5000);
+
+        List<String> executed = new ArrayList<>();
+        loop.submit(() -> executed.add("stale"));
+        loop.start();
+
+        CountDownLatch done = new CountDownLatch(1);
+        loop.submit(done::countDown);
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        loop.stop(5000);
+        assertTrue(executed.isEmpty());
+    }
+}
@@ -0,0 +1,83 @@
+package com.npcdropnotifier;
+
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class DropRowMemoryTest {
+    private static final Logger log = LoggerFactory.getLogger(DropRowMemoryTest.class);
+    // Loaded tables take about 2-3 KiB each, raw strings and offsets only
+    private static final long MAX_BYTES_PER_LOADED_TABLE = 8 * 1024;
+
+    @Test
+    public void testMemoryPerLoadedTable() throws IOException {
+        File[] files = NpcDropNotifierPlugin.MONSTER_DATA_DIR.listFiles((dir, name) -> name.endsWith(".json"));
+        assertNotNull("monster_data should be available", files);
+
+        // Loaded the way the completion index holds every table, nothing decoded yet
+        long before = usedMemory();
+        List<LazyDropTable> tables = new ArrayList<>();
+        for (File file : files) {
+            try (Reader reader = new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8)) {
+                tables.add(LazyDropTable.read(reader));
+            }
+        }
+        long loaded = usedMemory();
+
+        List<DropRow> decoded = new ArrayList<>();
+        for (LazyDropTable table : tables) {
+            for (int i = 0; i < table.size(); i++) {
+                decoded.add(table.getRow(i));
+            }
+        }
+        long after = usedMemory();
+
+        int totalRows = 0;
+        Set<DropRow> rows = Collections.newSetFromMap(new IdentityHashMap<>());
+        Set<String> names = Collections.newSetFromMap(new IdentityHashMap<>());
+        Set<DropQuantity> quantities = Collections.newSetFromMap(new IdentityHashMap<>());
+        Set<DropRarity> rarities = Collections.newSetFromMap(new IdentityHashMap<>());
+        Map<Integer, DropRow> bonesRows = new HashMap<>();
+        for (DropRow row : decoded) {
+            totalRows++;
+            rows.add(row);
+            names.add(row.getName());
+            quantities.add(row.getQuantity());
+            rarities.add(row.getRarity());
+            if ("Bones".equals(row.getName()) && "Always".equals(row.getRarity().getText())) {
+                bonesRows.putIfAbsent(row.getQuantity().getMin(), row);
+                assertSame(bonesRows.get(row.getQuantity().getMin()), row);
+            }
+        }
+
+        long bytesPerLoadedTable = Math.max(0, loaded - before) / Math.max(1, tables.size());
+        log.info("Loaded {} tables, {} rows: {} distinct rows, {} names, {} quantities, {} rarities, "
+                        + "~{} bytes per loaded table, ~{} bytes per decoded table",
+                tables.size(), totalRows, rows.size(), names.size(), quantities.size(), rarities.size(),
+                bytesPerLoadedTable, Math.max(0, after - before) / Math.max(1, tables.size()));
+
+        assertTrue("~" + bytesPerLoadedTable + " bytes per loaded table", bytesPerLoadedTable < MAX_BYTES_PER_LOADED_TABLE);
+        assertTrue(rows.size() < totalRows);
+        assertTrue(names.size() < rows.size());
+        assertTrue(quantities.size() < names.size());
+        assertFalse(bonesRows.isEmpty());
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,21 @@
+package com.npcdropnotifier;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class DropRowTest {
+    @Test
+    public void testDropRowsAreShared() {
+        LazyDropTable table = LazyDropTable.builder("TestMonster")
+                .add(555, "Common Item", "1", "1/10")
+                .add(557, "Coins", "5–10", "1/10")
+                .build();
+        DropRow first = DropRow.of(555, new String("Common Item"), "1", "1/10");
+        DropRow second = DropRow.of(555, new String("Common Item"), "1", "1/10");
+
+        assertSame(table.getRows(555).get(0), first);
+        assertSame(first, second);
+        assertSame(DropRarity.of("1/10"), table.getRows(557).get(0).getRarity());
+    }
+}
@@ -0,0 +1,102 @@
+package com.npcdropnotifier;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import org.junit.Test;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class LazyDropTableTest {
+    private final Gson gson = new Gson();
+
+    @Test
+    public void testRowsAreDecodedOnFirstAccess() throws IOException {
+        LazyDropTable table = read(240);
+        assertEquals("Black demon", table.getName());
+        assertTrue(table.size() > 50);
+        assertEquals(0, table.decodedRows());
+
+        DropRow blackSword = table.findDrop(1283, 1);
+        assertNotNull(blackSword);
+        assertEquals(32, blackSword.getRarity().getSimplifiedDenominator());
+        assertEquals(1, table.decodedRows());
+
+        assertSame(blackSword, table.getRows(1283).get(0));
+        assertEquals(1, table.decodedRows());
+
+        // Malicious ashes has two rows, looking up their offsets decodes neither
+        int[] ashes = table.getRowOffsets(25772);
+        assertEquals(2, ashes.length);
+        assertEquals(1, table.decodedRows());
+        assertEquals(25772, table.getRow(ashes[1]).getItemId());
+    }
+
+    @Test
+    public void testMatchesFullyParsedTable() throws IOException {
+        for (int tableId : new int[]{240, 6593, 963}) {
+            LazyDropTable table = read(tableId);
+
+            JsonObject json;
+            try (Reader reader = reader(tableId)) {
+                json = gson.fromJson(reader, JsonObject.class);
+            }
+
+            Map<Integer, List<DropRow>> expected = new HashMap<>();
+            for (JsonElement element : json.getAsJsonArray("drops")) {
+                JsonObject drop = element.getAsJsonObject();
+                String name = drop.get("name").getAsString();
+                if ("Nothing".equals(name)) {
+                    continue;
+                }
+
+                int itemId = drop.get("itemId").getAsInt();
+                expected.computeIfAbsent(itemId, k -> new ArrayList<>())
+                        .add(DropRow.of(itemId, name, drop.get("quantity").getAsString(), drop.get("rarity").getAsString()));
+            }
+
+            int rows = 0;
+            for (Map.Entry<Integer, List<DropRow>> entry : expected.entrySet()) {
+                assertEquals(entry.getValue(), table.getRows(entry.getKey()));
+                rows += entry.getValue().size();
+            }
+            assertEquals(rows, table.size());
+        }
+    }
+
+    @Test
+    public void testSkipsUnusedFieldsAndNothingRows() throws IOException {
+        String json = "{\"id\": 1, \"wiki\": {\"url\": \"x\", \"tags\": [1, 2]}, \"name\": \"Test\", \"drops\": ["
+                + "{\"name\": \"Nothing\", \"quantity\": null, \"rarity\": \"1/2\", \"itemId\": 0},"
+                + "{\"price\": 100, \"name\": \"Coins\", \"quantity\": \"5–10\", \"rarity\": \"1/8\", \"itemId\": 995, \"members\": false}"
+                + "]}";
+        LazyDropTable table = LazyDropTable.read(new StringReader(json));
+
+        assertEquals(Integer.valueOf(1), table.getId());
+        assertEquals("Test", table.getName());
+        assertEquals(1, table.size());
+        assertFalse(table.containsItem(0));
+        assertEquals("5-10", table.findDrop(995, 7).getQuantity().getText());
+        assertNull(table.findDrop(995, 11));
+    }
+
+    @Test(expected = IOException.class)
+    public void testMalformedTable() throws IOException {
+        LazyDropTable.read(new StringReader("{\"name\": \"Test\", \"drops\": [{\"itemId\": \"abc\"}]}"));
+    }
+
+    private static LazyDropTable read(int tableId) throws IOException {
+        try (Reader reader = reader(tableId)) {
+            return LazyDropTable.read(reader);
+        }
+    }
+
+    private static Reader reader(int tableId) throws IOException {
+        File file = new File(NpcDropNotifierPlugin.MONSTER_DATA_DIR, tableId + ".json");
+        return new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,145 @@
+package com.npcdropnotifier;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+public class NpcDropCompletionIndexTest {
+    private File tempDir;
+    private File monsterDataDir;
+    private NpcDropCompletionIndex completionIndex;
+    private NpcDropSessionStore sessionStore;
+
+    @Before
+    public void setUp() throws Exception {
+        tempDir = Files.createTempDirectory("npc-drop-completion-index").toFile();
+        monsterDataDir = new File(tempDir, "monster_data");
+        monsterDataDir.mkdirs();
+        Files.write(new File(monsterDataDir, "1234.json").toPath(), ("{\"id\": 1234, \"name\": \"TestMonster\", \"drops\": ["
+                + "{\"name\": \"Bones\", \"quantity\": \"1\", \"rarity\": \"Always\", \"itemId\": 526},"
+                + "{\"name\": \"Coins\", \"quantity\": \"5–10\", \"rarity\": \"1/10\", \"itemId\": 995}"
+                + "]}").getBytes(StandardCharsets.UTF_8));
+        // In game these are all named "Sleepwalker", npc_aliases.json resolves them to the first table
+        Files.write(new File(monsterDataDir, "9446.json").toPath(), ("{\"id\": 9446, \"name\": \"Sleepwalker (monster)\", \"drops\": ["
+                + "{\"name\": \"Bones\", \"quantity\": \"1\", \"rarity\": \"Always\", \"itemId\": 526}"
+                + "]}").getBytes(StandardCharsets.UTF_8));
+        Files.write(new File(monsterDataDir, "9470.json").toPath(), ("{\"id\": 9470, \"name\": \"Sleepwalker (Phosani's Nightmare)\", \"drops\": ["
+                + "{\"name\": \"Bones\", \"quantity\": \"1\", \"rarity\": \"Always\", \"itemId\": 526}"
+                + "]}").getBytes(StandardCharsets.UTF_8));
+        // Only the npc id tells these apart
+        Files.write(new File(monsterDataDir, "4088.json").toPath(), ("{\"id\": 4088, \"name\": \"Soldier (Tower of Life)\", \"drops\": ["
+                + "{\"name\": \"Bones\", \"quantity\": \"1\", \"rarity\": \"Always\", \"itemId\": 526}"
+                + "]}").getBytes(StandardCharsets.UTF_8));
+        Files.write(new File(monsterDataDir, "4089.json").toPath(), ("{\"id\": 4089, \"name\": \"Soldier (Battlefield)\", \"drops\": ["
+                + "{\"name\": \"Bones\", \"quantity\": \"1\", \"rarity\": \"Always\", \"itemId\": 526}"
+                + "]}").getBytes(StandardCharsets.UTF_8));
+
+        sessionStore = new NpcDropSessionStore(new File(tempDir, "records"));
+        sessionStore.switchAccount(1L);
+        sessionStore.getRecord("TestMonster#Level100").addDropRecord(526, "1");
+        sessionStore.getRecord("Sleepwalker#Level0").addDropRecord(526, "1");
+
+        completionIndex = new NpcDropCompletionIndex(new NpcDropTableIndex(monsterDataDir));
+        completionIndex.startUp();
+        completionIndex.loadTables().get(5, TimeUnit.SECONDS);
+        completionIndex.loadAccount(sessionStore).get(5, TimeUnit.SECONDS);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        completionIndex.shutDown();
+        sessionStore.shutDown();
+        try (Stream<Path> paths = Files.walk(tempDir.toPath())) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    @Test
+    public void testSummariesIncludeAccountRecords() throws Exception {
+        List<NpcCompletionSummary> summaries = completionIndex.filter("testmon").get(5, TimeUnit.SECONDS);
+
+        assertEquals(1, summaries.size());
+        assertEquals(new NpcCompletionSummary(1234, "TestMonster", 1, 2), summaries.get(0));
+        assertTrue(completionIndex.filter("goblin").get(5, TimeUnit.SECONDS).isEmpty());
+    }
+
+    @Test
+    public void testRecordDropPushesUpdatedSummary() throws Exception {
+        CompletableFuture<NpcCompletionSummary> updated = new CompletableFuture<>();
+        completionIndex.setListener(new NpcDropCompletionIndex.Listener() {
+            @Override
+            public void summariesReloaded() {
+            }
+
+            @Override
+            public void summaryUpdated(NpcCompletionSummary summary) {
+                updated.complete(summary);
+            }
+        });
+
+        completionIndex.recordDrop(1234, "TestMonster", 100, 995, "5-10");
+
+        assertEquals(new NpcCompletionSummary(1234, "TestMonster", 2, 2), updated.get(5, TimeUnit.SECONDS));
+        List<NpcCompletionRow> rows = completionIndex.getRows(1234).get(5, TimeUnit.SECONDS);
+        assertTrue(rows.get(1).isSeen());
+        assertEquals(DropRateColorConstants.COMMON, rows.get(1).getColor());
+    }
+
+    @Test
+    public void testIndexCanBeRestarted() throws Exception {
+        completionIndex.shutDown();
+        assertTrue(completionIndex.filter("").isCompletedExceptionally());
+
+        // The plugin was turned off and on again
+        completionIndex.startUp();
+        completionIndex.loadTables().get(5, TimeUnit.SECONDS);
+        completionIndex.loadAccount(sessionStore).get(5, TimeUnit.SECONDS);
+
+        assertEquals(new NpcCompletionSummary(1234, "TestMonster", 1, 2), completionIndex.filter("testmon").get(5, TimeUnit.SECONDS).get(0));
+    }
+
+    @Test
+    public void testRecordsFollowTableResolution() throws Exception {
+        List<NpcCompletionSummary> summaries = completionIndex.filter("sleepwalker").get(5, TimeUnit.SECONDS);
+
+        assertEquals(new NpcCompletionSummary(9446, "Sleepwalker (monster)", 1, 1), summaries.get(1));
+        assertEquals(new NpcCompletionSummary(9470, "Sleepwalker (Phosani's Nightmare)", 0, 1), summaries.get(0));
+    }
+
+    @Test
+    public void testSavedRecordsResolveByNpcId() throws Exception {
+        NpcDropRecord soldier = sessionStore.getRecord("Soldier#Level28");
+        soldier.addDropRecord(526, "1");
+        soldier.setNpcId(4088);
+        sessionStore.markDirty("Soldier#Level28");
+
+        // The client was restarted, the record is read back from disk
+        sessionStore.shutDown();
+        sessionStore.switchAccount(1L);
+        NpcDropCompletionIndex restartedIndex = new NpcDropCompletionIndex(new NpcDropTableIndex(monsterDataDir));
+        restartedIndex.startUp();
+        try {
+            restartedIndex.loadTables().get(5, TimeUnit.SECONDS);
+            restartedIndex.loadAccount(sessionStore).get(5, TimeUnit.SECONDS);
+
+            List<NpcCompletionSummary> summaries = restartedIndex.filter("soldier").get(5, TimeUnit.SECONDS);
+            assertEquals(new NpcCompletionSummary(4089, "Soldier (Battlefield)", 0, 1), summaries.get(0));
+            assertEquals(new NpcCompletionSummary(4088, "Soldier (Tower of Life)", 1, 1), summaries.get(1));
+        } finally {
+            restartedIndex.shutDown();
+        }
+    }
+}
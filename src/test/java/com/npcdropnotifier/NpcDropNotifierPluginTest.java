@@ -1,14 +1,17 @@
 package com.npcdropnotifier;
 
+import com.google.common.util.concurrent.MoreExecutors;
 import com.google.gson.Gson;
 import net.runelite.api.*;
 import net.runelite.client.Notifier;
 import net.runelite.client.config.ConfigManager;
 import net.runelite.client.events.NpcLootReceived;
 import net.runelite.client.game.ItemStack;
+import net.runelite.client.ui.ClientToolbar;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
@@ -17,6 +20,7 @@ import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
 
 import static org.junit.Assert.*;
 import static org.mockito.ArgumentMatchers.anyInt;
@@ -37,6 +41,21 @@ public class NpcDropNotifierPluginTest {
     @Mock
     private NpcDropNotifierPopup npcDropNotifierPopup;
 
+    @Mock
+    private NpcDropSessionStore sessionStore;
+
+    @Mock
+    private NpcDropCompletionIndex completionIndex;
+
+    @Mock
+    private NpcDropTableIndex tableIndex;
+
+    @Mock
+    private DropAlertPipeline alertPipeline;
+
+    @Mock
+    private ClientToolbar clientToolbar;
+
     @InjectMocks
     private NpcDropNotifierPlugin plugin;
 
@@ -48,6 +67,8 @@ public class NpcDropNotifierPluginTest {
 
     private final Gson gson = new Gson();
 
+    private NpcDropRecord npcDropRecord;
+
     @Before
     public void setUp() {
         // Setup common mocks
@@ -58,91 +79,33 @@ public class NpcDropNotifierPluginTest {
         when(client.getItemDefinition(anyInt())).thenReturn(mockItemComposition);
         when(mockItemComposition.getName()).thenReturn("Test Item");
 
-        // Create a test drop data structure
-        Map<Integer, List<NpcDropData.Drop>> testDrops = new HashMap<>();
-        List<NpcDropData.Drop> dropList = new ArrayList<>();
-
-        NpcDropData.Drop alwaysDrop = new NpcDropData.Drop();
-        alwaysDrop.itemId = 554;
-        alwaysDrop.name = "Always Item";
-        alwaysDrop.quantity = "1";
-        alwaysDrop.rarity = "Always";
-
-        NpcDropData.Drop commonDrop = new NpcDropData.Drop();
-        commonDrop.itemId = 555;
-        commonDrop.name = "Common Item";
-        commonDrop.quantity = "1";
-        commonDrop.rarity = "1/10";
-        commonDrop.minQuantity = 1;
-        commonDrop.maxQuantity = 1;
-
-        NpcDropData.Drop variableQuantityDrop = new NpcDropData.Drop();
-        variableQuantityDrop.itemId = 557;
-        variableQuantityDrop.name = "Variable Item";
-        variableQuantityDrop.quantity = "5–10";
-        variableQuantityDrop.rarity = "1/10";
-        variableQuantityDrop.minQuantity = 5;
-        variableQuantityDrop.maxQuantity = 10;
-
-        NpcDropData.Drop multiRollQuantityDrop = new NpcDropData.Drop();
-        multiRollQuantityDrop.itemId = 558;
-        multiRollQuantityDrop.name = "Variable Item";
-        multiRollQuantityDrop.quantity = "5";
-        multiRollQuantityDrop.rarity = "2 × 2/10";
-
-        NpcDropData.Drop sameItemQuantity1Drop = new NpcDropData.Drop();
-        sameItemQuantity1Drop.itemId = 559;
-        sameItemQuantity1Drop.name = "Gold 1";
-        sameItemQuantity1Drop.quantity = "5";
-        sameItemQuantity1Drop.rarity = "1/10";
-        sameItemQuantity1Drop.minQuantity = 5;
-        sameItemQuantity1Drop.maxQuantity = 5;
-
-        NpcDropData.Drop sameItemQuantity2Drop = new NpcDropData.Drop();
-        sameItemQuantity2Drop.itemId = 559;
-        sameItemQuantity2Drop.name = "Gold 2";
-        sameItemQuantity2Drop.quantity = "6";
-        sameItemQuantity2Drop.rarity = "1/15";
-        sameItemQuantity2Drop.minQuantity = 6;
-        sameItemQuantity2Drop.maxQuantity = 6;
-
-        dropList = new ArrayList<>();
-        dropList.add(alwaysDrop);
-        testDrops.put(554, dropList);
-
-        dropList = new ArrayList<>();
-        dropList.add(commonDrop);
-        testDrops.put(555, dropList);
-
-        dropList = new ArrayList<>();
-        dropList.add(variableQuantityDrop);
-        testDrops.put(557, dropList);
-
-        dropList = new ArrayList<>();
-        dropList.add(multiRollQuantityDrop);
-        testDrops.put(558, dropList);
-
-        dropList = new ArrayList<>();
-        dropList.add(sameItemQuantity1Drop);
-        dropList.add(sameItemQuantity2Drop);
-        testDrops.put(559, dropList);
-
-        plugin.currentNpcKey = mockNpc.getName() + "#Level" + mockNpc.getCombatLevel();
-        plugin.currentNpcDropData = testDrops;
-        plugin.npcDropRecord = new NpcDropRecord();
+        // Create a test drop table
+        LazyDropTable testDrops = LazyDropTable.builder("TestMonster")
+                .add(554, "Always Item", "1", "Always")
+                .add(555, "Common Item", "1", "1/10")
+                .add(557, "Variable Item", "5–10", "1/10")
+                .add(558, "Variable Item", "5", "2 × 2/10")
+                .add(559, "Gold 1", "5", "1/10")
+                .add(559, "Gold 2", "6", "1/15")
+                .build();
+
+        // Drive the ingestion loop and prefetches on the test thread
+        plugin.prefetchExecutor = MoreExecutors.newDirectExecutorService();
+        npcDropRecord = new NpcDropRecord();
+        plugin.setCurrentNpc(mockNpc.getName() + "#Level" + mockNpc.getCombatLevel(), npcDropRecord, testDrops);
     }
 
     @Test
     public void testFindDrop() {
         // Test finding a drop with exact quantity
-        NpcDropData.Drop foundDrop = plugin.findDrop(555, 1);
+        DropRow foundDrop = plugin.findDrop(555, 1);
         assertNotNull("Should find drop with exact quantity", foundDrop);
-        assertEquals("Common Item", foundDrop.name);
+        assertEquals("Common Item", foundDrop.getName());
 
         // Test finding a drop with variable quantity
         foundDrop = plugin.findDrop(557, 7);
         assertNotNull("Should find drop with quantity in range", foundDrop);
-        assertEquals("Variable Item", foundDrop.name);
+        assertEquals("Variable Item", foundDrop.getName());
 
         // Test not finding a drop with out-of-range quantity
         foundDrop = plugin.findDrop(557, 11);
@@ -150,10 +113,10 @@ public class NpcDropNotifierPluginTest {
 
         // Test finding one of many of the same items with different quantities
         foundDrop = plugin.findDrop(559, 5);
-        assertEquals("Gold 1", foundDrop.name);
+        assertEquals("Gold 1", foundDrop.getName());
 
         foundDrop = plugin.findDrop(559, 6);
-        assertEquals("Gold 2", foundDrop.name);
+        assertEquals("Gold 2", foundDrop.getName());
 
         // Test not finding a drop with non-existent item ID
         foundDrop = plugin.findDrop(999, 1);
@@ -168,59 +131,69 @@ public class NpcDropNotifierPluginTest {
 
         // Execute
         plugin.onNpcLootReceived(event);
+        plugin.ingestionLoop.drain();
 
         // Verify
-        verify(npcDropNotifierPopup).addNotificationToQueue(anyString());
-        assertTrue(plugin.npcDropRecord.getItemId(555).contains("1"));
+        ArgumentCaptor<DropAlert> alert = ArgumentCaptor.forClass(DropAlert.class);
+        verify(alertPipeline).publish(alert.capture());
+        assertEquals("Test Item", alert.getValue().getItemName());
+        assertEquals("1/10", alert.getValue().getRarity());
+        assertTrue(alert.getValue().getMessage().contains("TestMonster:<br><col=ffffff>Test Item</col>"));
+        verify(completionIndex).recordDrop(1234, "TestMonster", 100, 555, "1");
+        assertTrue(npcDropRecord.getItemId(555).contains("1"));
     }
 
     @Test
     public void testNpcDropDataParseQuantity() {
-        NpcDropData.Drop alwaysDrop = plugin.currentNpcDropData.get(554).get(0);
-        NpcDropData.Drop variableQuantityDrop = plugin.currentNpcDropData.get(557).get(0);
-
-        // Execute
-        alwaysDrop.parseQuantity();
-        variableQuantityDrop.parseQuantity();
-
+        DropQuantity alwaysQuantity = plugin.findDrop(554, 1).getQuantity();
+        DropQuantity variableQuantity = plugin.findDrop(557, 5).getQuantity();
 
         // Verify
-        assertEquals(1, alwaysDrop.minQuantity);
-        assertEquals(1, alwaysDrop.maxQuantity);
-
-        assertEquals(5, variableQuantityDrop.minQuantity);
-        assertEquals(10, variableQuantityDrop.maxQuantity);
+        assertEquals(1, alwaysQuantity.getMin());
+        assertEquals(1, alwaysQuantity.getMax());
+
+        assertEquals(5, variableQuantity.getMin());
+        assertEquals(10, variableQuantity.getMax());
+        assertEquals("5-10", variableQuantity.getText());
+
+        // Lists of amounts and unknown quantities
+        assertEquals(1, DropQuantity.of("1–7; 10").getMin());
+        assertEquals(10, DropQuantity.of("1–7; 10").getMax());
+        assertTrue(DropQuantity.of("1–7; 10").contains(7));
+        assertFalse(DropQuantity.of("1–7; 10").contains(8));
+        assertTrue(DropQuantity.of("1–7; 10").contains(10));
+        assertTrue(DropQuantity.of("1; 3").contains(3));
+        assertFalse(DropQuantity.of("1; 3").contains(2));
+        assertFalse(DropQuantity.of("Unknown").contains(1));
     }
 
     @Test
     public void testNpcDropDataParseRarity() {
-        NpcDropData.Drop alwaysDrop = plugin.currentNpcDropData.get(554).get(0);
-        NpcDropData.Drop regularDrop = plugin.currentNpcDropData.get(555).get(0);
-        NpcDropData.Drop multiRollQuantityDrop = plugin.currentNpcDropData.get(558).get(0);
-
-        // Execute
-        alwaysDrop.parseRarity();
-        regularDrop.parseRarity();
-        multiRollQuantityDrop.parseRarity();
+        DropRarity alwaysRarity = plugin.findDrop(554, 1).getRarity();
+        DropRarity regularRarity = plugin.findDrop(555, 1).getRarity();
+        DropRarity multiRollRarity = plugin.findDrop(558, 5).getRarity();
 
         // Verify
-        assertEquals(0, alwaysDrop.simplifiedDenominator);
-        assertEquals(10, regularDrop.simplifiedDenominator);
-        assertEquals(5, multiRollQuantityDrop.simplifiedDenominator);
+        assertEquals(0, alwaysRarity.getSimplifiedDenominator());
+        assertEquals(10, regularRarity.getSimplifiedDenominator());
+        assertEquals(5, multiRollRarity.getSimplifiedDenominator());
+        assertEquals("2 x 2/10", multiRollRarity.getText());
+        assertEquals(8, DropRarity.of("~1/8.1").getSimplifiedDenominator());
     }
 
     @Test
     public void testOnNpcLootReceivedAlreadyDropped() {
         // Setup - add the drop to the record first
-        plugin.npcDropRecord.addDropRecord(555, "1");
+        npcDropRecord.addDropRecord(555, "1");
         Collection<ItemStack> items = Collections.singletonList(new ItemStack(555, 1));
         NpcLootReceived event = new NpcLootReceived(mockNpc, items);
 
         // Execute
         plugin.onNpcLootReceived(event);
+        plugin.ingestionLoop.drain();
 
         // Verify - should not add notification for already seen drop
-        verify(npcDropNotifierPopup, never()).addNotificationToQueue(anyString());
+        verify(alertPipeline, never()).publish(any());
     }
 
     @Test
@@ -228,28 +201,97 @@ public class NpcDropNotifierPluginTest {
         // Setup
         NpcDropNotifierPlugin pluginSpy = spy(plugin);
 
-        // Create a mock for NpcDropData
-        NpcDropData mockDropData = mock(NpcDropData.class);
-
-        doReturn(mockDropData).when(pluginSpy).readNpcDropData(anyInt(), anyString());
-        Map<Integer, List<NpcDropData.Drop>> dropData = new HashMap<>();
-        List<NpcDropData.Drop> drops = new ArrayList<>();
-        NpcDropData.Drop drop = new NpcDropData.Drop();
-        drop.minQuantity = 1;
-        drop.maxQuantity = 1;
-        drops.add(new NpcDropData.Drop());
-        dropData.put(555, drops);
-        doReturn(dropData).when(mockDropData).getDropsByItemIdAndQuantity();
-        pluginSpy.currentNpcKey = "DifferentMonster#Level50";
+        LazyDropTable dropData = LazyDropTable.builder("TestMonster")
+                .add(555, "Common Item", "1", "1/10")
+                .build();
+        doReturn(dropData).when(pluginSpy).readDropTable(anyInt(), anyString(), anyInt());
+        NpcDropRecord testMonsterRecord = new NpcDropRecord();
+        when(sessionStore.getRecord("TestMonster#Level100")).thenReturn(testMonsterRecord);
+        pluginSpy.setCurrentNpc("DifferentMonster#Level50", new NpcDropRecord(), LazyDropTable.EMPTY);
         Collection<ItemStack> items = Collections.singletonList(new ItemStack(555, 1));
         NpcLootReceived event = new NpcLootReceived(mockNpc, items);
 
         // Execute
         pluginSpy.onNpcLootReceived(event);
+        pluginSpy.ingestionLoop.drain();
 
         // Verify that old record was saved and created a new one
-        assertTrue(pluginSpy.npcDropRecord.getItemId(555).contains("1"));
-        assertEquals("TestMonster#Level100", plugin.currentNpcKey);
+        verify(sessionStore).flush();
+        verify(sessionStore).markDirty("TestMonster#Level100");
+        assertTrue(testMonsterRecord.getItemId(555).contains("1"));
+        assertEquals("TestMonster#Level100", pluginSpy.getCurrentNpcKey());
+    }
+
+    @Test
+    public void testDeferredLootIsKeptWhenAnotherNpcDropsLoot() {
+        // Setup - hold prefetches until the test runs them
+        NpcDropNotifierPlugin pluginSpy = spy(plugin);
+        List<Runnable> prefetches = new ArrayList<>();
+        ExecutorService prefetchExecutor = mock(ExecutorService.class);
+        doAnswer(invocation -> prefetches.add(invocation.getArgument(0))).when(prefetchExecutor).execute(any());
+        pluginSpy.prefetchExecutor = prefetchExecutor;
+
+        NPC otherNpc = mock(NPC.class);
+        when(otherNpc.getName()).thenReturn("OtherMonster");
+        when(otherNpc.getCombatLevel()).thenReturn(50);
+        when(otherNpc.getId()).thenReturn(4321);
+
+        NpcDropRecord testMonsterRecord = new NpcDropRecord();
+        when(sessionStore.getRecord("TestMonster#Level100")).thenReturn(testMonsterRecord);
+        when(sessionStore.getRecord("OtherMonster#Level50")).thenReturn(new NpcDropRecord());
+        doReturn(LazyDropTable.builder("TestMonster").add(555, "Common Item", "1", "1/10").build())
+                .when(pluginSpy).readDropTable(1234, "TestMonster", 100);
+        pluginSpy.setCurrentNpc("DifferentMonster#Level50", new NpcDropRecord(), LazyDropTable.EMPTY);
+
+        // Execute - loot for the test monster, then for another npc, before either table has loaded
+        pluginSpy.onNpcLootReceived(new NpcLootReceived(mockNpc, Collections.singletonList(new ItemStack(555, 1))));
+        pluginSpy.ingestionLoop.drain();
+        pluginSpy.onNpcLootReceived(new NpcLootReceived(otherNpc, Collections.singletonList(new ItemStack(995, 5))));
+        pluginSpy.ingestionLoop.drain();
+        assertEquals(2, prefetches.size());
+        verify(alertPipeline, never()).publish(any());
+
+        // The test monster's table arrives after the other npc became current
+        prefetches.get(0).run();
+        pluginSpy.ingestionLoop.drain();
+
+        // Verify
+        ArgumentCaptor<DropAlert> alert = ArgumentCaptor.forClass(DropAlert.class);
+        verify(alertPipeline).publish(alert.capture());
+        assertEquals("TestMonster", alert.getValue().getNpcName());
+        assertEquals("1/10", alert.getValue().getRarity());
+        assertTrue(testMonsterRecord.getItemId(555).contains("1"));
+        verify(sessionStore).markDirty("TestMonster#Level100");
+        assertEquals("OtherMonster#Level50", pluginSpy.getCurrentNpcKey());
+    }
+
+    @Test
+    public void testShutDownDoesNotKeepUnfinishedPrefetches() throws Exception {
+        // Setup - a prefetch that is still queued when the plugin is turned off
+        NpcDropNotifierPlugin pluginSpy = spy(plugin);
+        ExecutorService prefetchExecutor = mock(ExecutorService.class);
+        pluginSpy.prefetchExecutor = prefetchExecutor;
+
+        NpcDropRecord testMonsterRecord = new NpcDropRecord();
+        when(sessionStore.getRecord("TestMonster#Level100")).thenReturn(testMonsterRecord);
+        pluginSpy.setCurrentNpc("DifferentMonster#Level50", new NpcDropRecord(), LazyDropTable.EMPTY);
+        pluginSpy.onNpcLootReceived(new NpcLootReceived(mockNpc, Collections.singletonList(new ItemStack(555, 1))));
+        pluginSpy.ingestionLoop.drain();
+
+        pluginSpy.shutDown();
+        pluginSpy.ingestionLoop.drain();
+        verify(prefetchExecutor).shutdownNow();
+
+        // Execute - the plugin instance is reused when it is turned on again
+        pluginSpy.prefetchExecutor = MoreExecutors.newDirectExecutorService();
+        doReturn(LazyDropTable.builder("TestMonster").add(555, "Common Item", "1", "1/10").build())
+                .when(pluginSpy).readDropTable(1234, "TestMonster", 100);
+        pluginSpy.onNpcLootReceived(new NpcLootReceived(mockNpc, Collections.singletonList(new ItemStack(555, 1))));
+        pluginSpy.ingestionLoop.drain();
+
+        // Verify
+        verify(alertPipeline).publish(any());
+        assertTrue(testMonsterRecord.getItemId(555).contains("1"));
     }
 
     @Test
@@ -265,9 +307,7 @@ public class NpcDropNotifierPluginTest {
     @Test
     public void testGetPrettyDropRate() {
         // Test "Always" drop
-        NpcDropData.Drop commonDrop = new NpcDropData.Drop();
-        commonDrop.rarity = "1/5";
-        commonDrop.simplifiedDenominator = 5;
+        DropRow commonDrop = DropRow.of(555, "Common Item", "1", "1/5");
         assertEquals("<br><br><col=" + DropRateColorConstants.COMMON + ">1 / 5</col>",
                 plugin.getPrettyDropRate(commonDrop));
     }
@@ -275,16 +315,16 @@ public class NpcDropNotifierPluginTest {
     @Test
     public void testGetPrettyNotificationMessage() {
         // Test normal item
-        String message = plugin.getPrettyNotificationMessage("TestMonster", 555, 1);
+        String message = plugin.getPrettyNotificationMessage("TestMonster", "Test Item", plugin.findDrop(555, 1));
         assertTrue(message.contains("TestMonster:<br><col=ffffff>Test Item</col>"));
-        assertTrue(message.contains("1/10"));
+        assertTrue(message.contains("1 / 10"));
 
         // Test item with quantity
-        message = plugin.getPrettyNotificationMessage("TestMonster", 557, 7);
-        assertTrue(message.contains("TestMonster:<br><col=ffffff>Test Item (5–10)</col>"));
+        message = plugin.getPrettyNotificationMessage("TestMonster", "Test Item", plugin.findDrop(557, 7));
+        assertTrue(message.contains("TestMonster:<br><col=ffffff>Test Item (5-10)</col>"));
 
         // Test item not in drop table
-        message = plugin.getPrettyNotificationMessage("TestMonster", 999, 1);
+        message = plugin.getPrettyNotificationMessage("TestMonster", "Test Item", plugin.findDrop(999, 1));
         assertTrue(message.contains("TestMonster:<br><col=ffffff>Test Item</col>"));
     }
 
@@ -325,12 +365,12 @@ public class NpcDropNotifierPluginTest {
     public void testReadNpcDropData() throws IOException {
         Integer testNpcId = 555555;
         String testNpcName = "";
-        NpcDropData dropData = plugin.readNpcDropData(testNpcId, testNpcName);
-        Map<Integer, List<NpcDropData.Drop>> dropMap = dropData.getDropsByItemIdAndQuantity();
+        when(tableIndex.resolve(testNpcId, testNpcName, 0)).thenReturn(testNpcId);
+        LazyDropTable dropData = plugin.readDropTable(testNpcId, testNpcName, 0);
 
         // Verify
         assertNotNull(dropData);
-        NpcDropData.Drop bones = dropMap.get(526).get(0);
-        assertEquals("Bones", bones.name);
+        DropRow bones = dropData.getRows(526).get(0);
+        assertEquals("Bones", bones.getName());
     }
 }
\ No newline at end of file
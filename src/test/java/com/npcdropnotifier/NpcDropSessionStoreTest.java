@@ -0,0 +1,114 @@
+package com.npcdropnotifier;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+public class NpcDropSessionStoreTest {
+    private File baseDir;
+    private NpcDropSessionStore store;
+
+    @Before
+    public void setUp() throws IOException {
+        baseDir = Files.createTempDirectory("npc-drop-session-store").toFile();
+        store = new NpcDropSessionStore(baseDir);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        store.shutDown();
+        try (Stream<Path> paths = Files.walk(baseDir.toPath())) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    @Test
+    public void testLoadDoesNotCreateDirectories() {
+        store.switchAccount(1L);
+
+        NpcDropRecord record = store.getRecord("TestMonster#Level100");
+
+        assertNotNull(record);
+        assertNull(record.getItemId(555));
+        assertArrayEquals(new String[0], baseDir.list());
+    }
+
+    @Test
+    public void testSwitchAccountFlushesPreviousAccount() throws Exception {
+        store.switchAccount(1L);
+        store.getRecord("TestMonster#Level100").addDropRecord(555, "1");
+        store.markDirty("TestMonster#Level100");
+
+        assertTrue(store.switchAccount(2L));
+        store.flush().get();
+
+        // The second account starts empty and the first account's record was written under its own hash
+        assertNull(store.getRecord("TestMonster#Level100").getItemId(555));
+        assertTrue(new File(baseDir, "1/TestMonster#Level100/" + NpcDropSessionStore.DROP_LOG_FILE).exists());
+        assertFalse(new File(baseDir, "2").exists());
+    }
+
+    @Test
+    public void testRecordIsReloadedForSameAccount() throws Exception {
+        store.switchAccount(1L);
+        store.getRecord("TestMonster#Level100").addDropRecord(555, "1");
+        store.markDirty("TestMonster#Level100");
+        store.switchAccount(2L);
+
+        // Switching straight back must see the record even if the background write has not finished yet
+        store.switchAccount(1L);
+
+        assertTrue(store.getRecord("TestMonster#Level100").getItemId(555).contains("1"));
+    }
+
+    @Test
+    public void testStoreCanBeReusedAfterShutDown() throws Exception {
+        store.switchAccount(1L);
+        store.getRecord("TestMonster#Level100").addDropRecord(555, "1");
+        store.markDirty("TestMonster#Level100");
+        store.shutDown();
+        assertTrue(new File(baseDir, "1/TestMonster#Level100/" + NpcDropSessionStore.DROP_LOG_FILE).exists());
+
+        // The plugin was turned off and on again
+        store.switchAccount(1L);
+        store.getRecord("Goblin#Level2").addDropRecord(526, "1");
+        store.markDirty("Goblin#Level2");
+        store.flush().get();
+
+        assertTrue(new File(baseDir, "1/Goblin#Level2/" + NpcDropSessionStore.DROP_LOG_FILE).exists());
+    }
+
+    @Test
+    public void testReadAllRecordsDoesNotLoadRecords() throws Exception {
+        store.switchAccount(1L);
+        store.getRecord("TestMonster#Level100").addDropRecord(555, "1");
+        store.markDirty("TestMonster#Level100");
+        store.switchAccount(2L);
+        store.flush().get();
+        store.shutDown();
+
+        store.switchAccount(1L);
+        store.getRecord("Goblin#Level2").addDropRecord(526, "1");
+        Map<String, NpcDropRecord> records = store.readAllRecords();
+
+        assertEquals(2, records.size());
+        assertTrue(records.get("TestMonster#Level100").getItemId(555).contains("1"));
+        assertTrue(records.get("Goblin#Level2").getItemId(526).contains("1"));
+
+        // The record read from disk was not cached, so a later change to the file is still picked up
+        File dataFile = new File(baseDir, "1/TestMonster#Level100/" + NpcDropSessionStore.DROP_LOG_FILE);
+        Files.write(dataFile.toPath(), "{\"itemDrops\":{\"556\":[\"2\"]}}".getBytes(StandardCharsets.UTF_8));
+        assertTrue(store.getRecord("TestMonster#Level100").getItemId(556).contains("2"));
+    }
+}
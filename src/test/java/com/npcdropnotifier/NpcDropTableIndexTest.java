@@ -0,0 +1,116 @@
+package com.npcdropnotifier;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class NpcDropTableIndexTest {
+    private NpcDropTableIndex tableIndex;
+
+    @Before
+    public void setUp() {
+        tableIndex = new NpcDropTableIndex(NpcDropNotifierPlugin.MONSTER_DATA_DIR);
+    }
+
+    @Test
+    public void testResolveById() {
+        assertEquals(Integer.valueOf(963), tableIndex.resolve(963, "Kalphite Queen", 333));
+    }
+
+    @Test
+    public void testResolveVariantIdByName() {
+        // The second form of the Kalphite Queen has no table of its own
+        assertEquals(Integer.valueOf(963), tableIndex.resolve(965, "Kalphite Queen", 333));
+        assertEquals(Integer.valueOf(963), tableIndex.resolve(965, "<col=ffff00>Kalphite queen</col>", 333));
+    }
+
+    @Test
+    public void testResolveDisambiguatedWikiName() {
+        // Only one table is named "Rock Golem (...)"
+        assertEquals(Integer.valueOf(6725), tableIndex.resolve(99999, "Rock Golem", 14));
+        // Two tables are named "Sleepwalker (...)", the alias picks one
+        assertEquals(Integer.valueOf(9446), tableIndex.resolve(99999, "Sleepwalker", 0));
+    }
+
+    @Test
+    public void testResolveAmbiguousWikiNameWithoutGuessing() {
+        // Eight tables are named "Soldier (...)", none of them is more likely than another
+        assertNull(tableIndex.resolve(99999, "Soldier", 28));
+        assertEquals(Integer.valueOf(4088), tableIndex.resolve(4088, "Soldier", 28));
+    }
+
+    @Test
+    public void testResolveByLevelSignature() {
+        assertEquals(Integer.valueOf(1118), tableIndex.resolve(99999, "Man", 4));
+        assertEquals(Integer.valueOf(3106), tableIndex.resolve(99999, "Man", 2));
+        // The level signature wins over one learned from an earlier resolution
+        assertEquals(Integer.valueOf(3106), tableIndex.resolve(3106, "Man", 4));
+        assertEquals(Integer.valueOf(1118), tableIndex.resolve(99998, "Man", 4));
+    }
+
+    @Test
+    public void testResolveAlias() {
+        assertEquals(Integer.valueOf(6611), tableIndex.resolve(6612, "Vet'ion Reborn", 454));
+        assertEquals(Integer.valueOf(6611), tableIndex.resolve(99999, "Vet'ion Reborn", 454));
+    }
+
+    @Test
+    public void testResolveIdAliasIgnoresName() throws Exception {
+        File monsterDataDir = Files.createTempDirectory("npc-drop-table-index").toFile();
+        File testMonster = new File(monsterDataDir, "1234.json");
+        File otherMonster = new File(monsterDataDir, "4321.json");
+        File aliases = new File(monsterDataDir, "aliases.txt");
+        Files.write(testMonster.toPath(), "{\"id\": 1234, \"name\": \"TestMonster\", \"drops\": []}".getBytes(StandardCharsets.UTF_8));
+        Files.write(otherMonster.toPath(), "{\"id\": 4321, \"name\": \"OtherMonster\", \"drops\": []}".getBytes(StandardCharsets.UTF_8));
+        Files.write(aliases.toPath(), "{\"names\": {}, \"ids\": {\"77777\": 1234}}".getBytes(StandardCharsets.UTF_8));
+
+        try {
+            // The transformed npc takes the name of another table, the alias still wins
+            NpcDropTableIndex aliasedIndex = new NpcDropTableIndex(monsterDataDir, aliases.toURI().toURL());
+            assertEquals(Integer.valueOf(1234), aliasedIndex.resolve(77777, "OtherMonster", 10));
+            assertEquals(Integer.valueOf(4321), aliasedIndex.resolve(4321, "OtherMonster", 10));
+        } finally {
+            assertTrue(testMonster.delete());
+            assertTrue(otherMonster.delete());
+            assertTrue(aliases.delete());
+            assertTrue(monsterDataDir.delete());
+        }
+    }
+
+    @Test
+    public void testResolveSignatureSharesFirstResolvedTable() {
+        // Two tables are named Molanisk, variants with the same level follow the one the id resolved to
+        assertEquals(Integer.valueOf(555555), tableIndex.resolve(555555, "Molanisk", 51));
+        assertEquals(Integer.valueOf(555555), tableIndex.resolve(77777, "Molanisk", 51));
+        assertEquals(Integer.valueOf(1), tableIndex.resolve(77777, "Molanisk", 52));
+    }
+
+    @Test
+    public void testResolveUnknownNpc() {
+        assertNull(tableIndex.resolve(999999, "Not a monster", 1));
+    }
+
+    @Test
+    public void testScanBuildsIndexFromTheSameRead() throws Exception {
+        File monsterDataDir = Files.createTempDirectory("npc-drop-table-index").toFile();
+        File table = new File(monsterDataDir, "1234.json");
+        Files.write(table.toPath(), "{\"id\": 1234, \"name\": \"TestMonster\", \"drops\": []}".getBytes(StandardCharsets.UTF_8));
+
+        NpcDropTableIndex scannedIndex = new NpcDropTableIndex(monsterDataDir);
+        Map<Integer, LazyDropTable> scanned = new HashMap<>();
+        scannedIndex.scan(scanned::put);
+        assertEquals("TestMonster", scanned.get(1234).getName());
+
+        // Resolving after the scan never reads the tables again
+        assertTrue(table.delete());
+        assertTrue(monsterDataDir.delete());
+        assertEquals(Integer.valueOf(1234), scannedIndex.resolve(99999, "TestMonster", 10));
+    }
+}